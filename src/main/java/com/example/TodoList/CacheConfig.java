@@ -0,0 +1,28 @@
+package com.example.TodoList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Кэш задач по id.
+     */
+    public static final String TASKS_CACHE = "tasks";
+
+    // put/evict внутри транзакции применяются только после commit, чтобы в кэш не попало откаченное состояние
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(TASKS_CACHE);
+        caffeineCacheManager.setCacheSpecification(spec);
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
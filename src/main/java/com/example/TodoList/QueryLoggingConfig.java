@@ -0,0 +1,32 @@
+package com.example.TodoList;
+
+import com.example.TodoList.services.SqlQueryStatistics;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class QueryLoggingConfig {
+
+    // DataSource оборачивается в прокси, который замеряет каждый запрос и передаёт его в SqlQueryStatistics
+    @Bean
+    public static BeanPostProcessor queryLoggingDataSourcePostProcessor(ObjectProvider<SqlQueryStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(statistics.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
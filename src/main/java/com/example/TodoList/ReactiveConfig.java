@@ -0,0 +1,35 @@
+package com.example.TodoList;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+
+    /**
+     * R2DBC-клиент к той же базе, что и spring.datasource.url. Встроенная H2 в одной JVM общая для обоих
+     * драйверов, поэтому схему по-прежнему создаёт Hibernate. ConnectionFactory намеренно не объявляется
+     * бином: при нём Spring Boot отключает DataSource и JPA, а они нужны планировщику и поиску.
+     */
+    @Bean
+    public DatabaseClient databaseClient(@Value("${spring.datasource.url}") String url,
+                                         @Value("${spring.datasource.username}") String username,
+                                         @Value("${spring.datasource.password}") String password) {
+        if (!url.startsWith(JDBC_H2_PREFIX)) {
+            throw new IllegalStateException("Профиль reactive поддерживает только H2: " + url);
+        }
+        return DatabaseClient.create(new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(url.substring(JDBC_H2_PREFIX.length()))
+                .username(username)
+                .password(password)
+                .build()));
+    }
+}
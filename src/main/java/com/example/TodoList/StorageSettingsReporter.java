@@ -0,0 +1,64 @@
+package com.example.TodoList;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Выводит при старте фактические настройки хранения H2 и пула соединений. H2 применяет параметры
+ * из URL только при первом открытии базы, поэтому значения из todo.h2.* сверяются с тем,
+ * что база сообщает в INFORMATION_SCHEMA.SETTINGS.
+ */
+@Component
+public class StorageSettingsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageSettingsReporter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSource dataSource;
+
+    private final Map<String, String> expected = new LinkedHashMap<>();
+
+    public StorageSettingsReporter(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                   @Value("${todo.h2.max-compact-time:}") String maxCompactTime) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        expected.put("MAX_COMPACT_TIME", maxCompactTime);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() throws SQLException {
+        Map<String, String> settings = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT SETTING_NAME, SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME IN "
+                        + "('CACHE_SIZE', 'WRITE_DELAY', 'MAX_COMPACT_TIME', 'DB_CLOSE_DELAY', 'RETENTION_TIME', "
+                        + "'info.CACHE_MAX_SIZE', 'info.FILE_SIZE', 'info.FILL_RATE')",
+                rs -> {
+                    settings.putIfAbsent(rs.getString(1), rs.getString(2));
+                });
+        log.info("Настройки H2: {}", settings);
+        expected.forEach((name, value) -> {
+            if (!value.isEmpty() && !value.equals(settings.get(name))) {
+                log.warn("H2 {}={}, хотя в конфигурации задано {}: база была открыта раньше с другими параметрами",
+                        name, settings.get(name), value);
+            }
+        });
+
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            log.info("Пул {}: maximumPoolSize={}, minimumIdle={}, connectionTimeout={} мс, maxLifetime={} мс",
+                    hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(),
+                    hikari.getConnectionTimeout(), hikari.getMaxLifetime());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.TodoList;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Проверка пула соединений под выбранный режим потоков.
+ * С виртуальными потоками (spring.threads.virtual.enabled) Tomcat больше не ограничивает число
+ * одновременных запросов, и единственным ограничителем нагрузки на H2 становится пул Hikari.
+ * Поэтому пул должен быть небольшим, а ожидание соединения - коротким: при всплеске запросы
+ * быстро получают ошибку вместо того, чтобы копиться в очереди за соединением.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    private final DataSource dataSource;
+
+    private final boolean virtualThreads;
+
+    private final int maxPoolSize;
+
+    private final long maxConnectionTimeout;
+
+    public ThreadingConfig(DataSource dataSource,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                           @Value("${todo.datasource.max-pool-size:20}") int maxPoolSize,
+                           @Value("${todo.datasource.max-connection-timeout:10000}") long maxConnectionTimeout) {
+        this.dataSource = dataSource;
+        this.virtualThreads = virtualThreads;
+        this.maxPoolSize = maxPoolSize;
+        this.maxConnectionTimeout = maxConnectionTimeout;
+    }
+
+    @PostConstruct
+    void validatePool() throws SQLException {
+        // DataSource обёрнут прокси QueryLoggingConfig, сам пул достаём через unwrap
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        log.info("Потоки обработки запросов: {}, пул соединений: {}, ожидание соединения: {} мс",
+                virtualThreads ? "виртуальные" : "платформенные",
+                hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+        if (!virtualThreads) {
+            return;
+        }
+        if (hikari.getMaximumPoolSize() > maxPoolSize) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size=" + hikari.getMaximumPoolSize()
+                    + " больше допустимого todo.datasource.max-pool-size=" + maxPoolSize
+                    + " для режима виртуальных потоков");
+        }
+        if (hikari.getConnectionTimeout() > maxConnectionTimeout) {
+            throw new IllegalStateException("spring.datasource.hikari.connection-timeout=" + hikari.getConnectionTimeout()
+                    + " больше допустимого todo.datasource.max-connection-timeout=" + maxConnectionTimeout
+                    + " для режима виртуальных потоков");
+        }
+    }
+}
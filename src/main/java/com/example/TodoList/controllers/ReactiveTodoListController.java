@@ -0,0 +1,131 @@
+package com.example.TodoList.controllers;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskPatchRequest;
+import com.example.TodoList.models.TaskRequest;
+import com.example.TodoList.models.TaskSortField;
+import com.example.TodoList.repositories.ReactiveTaskRepository;
+import com.example.TodoList.services.TaskRules;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Неблокирующий вариант основных операций /api/tasks на WebFlux и R2DBC, включается профилем reactive
+ * вместо TodoListController. Правила макросов и статусов общие (TaskRules), ответы совпадают по формату.
+ * Пакетные операции, выгрузка, поиск, фильтры и постраничный вывод есть только в блокирующем варианте.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/tasks")
+public class ReactiveTodoListController {
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final ReactiveTaskRepository taskRepository;
+
+    private final TaskRules taskRules;
+
+    public ReactiveTodoListController(ReactiveTaskRepository taskRepository, TaskRules taskRules) {
+        this.taskRepository = taskRepository;
+        this.taskRules = taskRules;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getAllTasks(@RequestParam(defaultValue = "createdAt") String sortBy,
+                                         @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+        Optional<TaskSortField> sortField = TaskSortField.fromProperty(sortBy);
+        if (sortField.isEmpty()) {
+            return message(HttpStatus.BAD_REQUEST,
+                    "Сортировка возможна только по полям: " + TaskSortField.allowedProperties());
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(taskRepository.findSummaries(sortField.get(), sortDirection));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getTaskById(@PathVariable UUID id) {
+        return taskRepository.findById(id)
+                .<ResponseEntity<?>>map(task -> withETag(ResponseEntity.ok(), task))
+                .defaultIfEmpty(notFound());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> createTask(@Valid @RequestBody TaskRequest request) {
+        Task task = new Task();
+        String error = taskRules.applyCreate(task, request);
+        if (error != null) {
+            return Mono.just(message(HttpStatus.BAD_REQUEST, error));
+        }
+        return taskRepository.insert(task)
+                .map(savedTask -> new ResponseEntity<>(savedTask, HttpStatus.CREATED));
+    }
+
+    @PutMapping
+    public Mono<ResponseEntity<?>> updateTask(@RequestParam UUID id, @Valid @RequestBody TaskRequest taskDetails,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return change(id, ifMatch, task -> taskRules.applyUpdate(task, taskDetails));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<?>> patchTask(@PathVariable UUID id, @RequestBody TaskPatchRequest patch,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return change(id, ifMatch, task -> taskRules.applyPatch(task, patch));
+    }
+
+    @DeleteMapping
+    public Mono<ResponseEntity<?>> deleteTask(@RequestParam UUID id) {
+        return taskRepository.deleteById(id)
+                .map(rows -> rows > 0 ? message(HttpStatus.OK, "Задача удалена") : notFound());
+    }
+
+    // загрузка, правила и update с проверкой версии; гонка с другим запросом тоже даёт 412
+    private Mono<ResponseEntity<?>> change(UUID id, String ifMatch, Function<Task, String> rules) {
+        return taskRepository.findById(id)
+                .flatMap(task -> {
+                    if (ifMatch != null && !TaskETags.matches(ifMatch, TaskETags.forTask(id, task.getVersion()))) {
+                        return Mono.just(preconditionFailed());
+                    }
+                    String error = rules.apply(task);
+                    if (error != null) {
+                        return Mono.just(message(HttpStatus.BAD_REQUEST, error));
+                    }
+                    return taskRepository.update(task)
+                            .<ResponseEntity<?>>map(updatedTask -> withETag(ResponseEntity.ok(), updatedTask))
+                            .defaultIfEmpty(ifMatch != null ? preconditionFailed() : conflict());
+                })
+                .defaultIfEmpty(notFound());
+    }
+
+    private static ResponseEntity<?> withETag(ResponseEntity.BodyBuilder builder, Task task) {
+        return builder.eTag(TaskETags.forTask(task.getId(), task.getVersion())).body(task);
+    }
+
+    private static ResponseEntity<?> notFound() {
+        return message(HttpStatus.NOT_FOUND, "Задача не найдена");
+    }
+
+    private static ResponseEntity<?> preconditionFailed() {
+        return message(HttpStatus.PRECONDITION_FAILED, "Задача была изменена другим запросом");
+    }
+
+    private static ResponseEntity<?> conflict() {
+        return message(HttpStatus.CONFLICT, "Задача была изменена другим запросом");
+    }
+
+    private static ResponseEntity<?> message(HttpStatus status, String message) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", message));
+    }
+}
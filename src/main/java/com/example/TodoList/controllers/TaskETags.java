@@ -0,0 +1,67 @@
+package com.example.TodoList.controllers;
+
+import com.example.TodoList.models.TaskListVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * ETag и Last-Modified для задач и списка задач. ETag задачи строится из id и @Version,
+ * поэтому подходит и для If-Match при изменении.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String forTask(UUID id, Long version) {
+        return id + "-" + version;
+    }
+
+    /**
+     * Проверка If-Match строгим сравнением; "*" совпадает с любой существующей задачей.
+     */
+    static boolean matches(String ifMatch, String eTag) {
+        String quoted = "\"" + eTag + "\"";
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // в тег входят параметры запроса: разные фильтры и страницы дают разные представления
+    static String forList(TaskListVersion version, Map<String, String[]> parameters) {
+        int parametersHash = 1;
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(parameters).entrySet()) {
+            parametersHash = 31 * parametersHash + parameter.getKey().hashCode();
+            parametersHash = 31 * parametersHash + Arrays.hashCode(parameter.getValue());
+        }
+        return "tasks-" + version.getCount() + "-" + Long.toHexString(nanos(version.getLastUpdatedAt()))
+                + "-" + Integer.toHexString(parametersHash);
+    }
+
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static long nanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0;
+        }
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond() * 1_000_000_000L + dateTime.getNano();
+    }
+}
@@ -2,179 +2,432 @@ package com.example.TodoList.controllers;
 
 import com.example.TodoList.entities.Task;
 import com.example.TodoList.models.*;
-import com.example.TodoList.repositories.TaskRepository;
+import com.example.TodoList.repositories.TaskSpecifications;
+import com.example.TodoList.services.TaskBatchService;
+import com.example.TodoList.services.TaskChangeFeed;
+import com.example.TodoList.services.TaskExportService;
+import com.example.TodoList.services.TaskRules;
+import com.example.TodoList.services.TaskSearchService;
+import com.example.TodoList.services.TaskService;
+import com.example.TodoList.services.TaskSyncService;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/tasks")
 public class TodoListController {
 
-    private final TaskRepository taskRepository;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final TaskService taskService;
+
+    private final TaskExportService taskExportService;
+
+    private final TaskBatchService taskBatchService;
+
+    private final Validator validator;
+
+    private final TaskRules taskRules;
+
+    private final TaskSearchService taskSearchService;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    private final TaskSyncService taskSyncService;
 
     @Autowired
-    public TodoListController(TaskRepository taskRepository) {
-        this.taskRepository = taskRepository;
+    public TodoListController(TaskService taskService, TaskExportService taskExportService,
+                              TaskBatchService taskBatchService, Validator validator,
+                              TaskRules taskRules, TaskSearchService taskSearchService,
+                              TaskChangeFeed taskChangeFeed, TaskSyncService taskSyncService) {
+        this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.taskBatchService = taskBatchService;
+        this.validator = validator;
+        this.taskRules = taskRules;
+        this.taskSearchService = taskSearchService;
+        this.taskChangeFeed = taskChangeFeed;
+        this.taskSyncService = taskSyncService;
     }
 
 
     @GetMapping
     public ResponseEntity<?> getAllTasks(@RequestParam(defaultValue = "createdAt") String sortBy,
-                                         @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
-        Sort sort = Sort.by(sortDirection, sortBy);
-        List<Task> taskList= taskRepository.findAll(sort);
-        return ResponseEntity.ok().body(taskList);
+                                         @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor,
+                                         TaskFilter filter, WebRequest webRequest) {
+        Optional<TaskSortField> sortField = TaskSortField.fromProperty(sortBy);
+        if (sortField.isEmpty()) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Сортировка возможна только по полям: " + TaskSortField.allowedProperties()));
+        }
+        // версия всей таблицы: count и max(updatedAt) считаются по индексам без чтения строк.
+        // Last-Modified для списка не отдаётся: удаление задачи не сдвигает max(updatedAt) вперёд,
+        // и проверка по If-Modified-Since вернула бы устаревший 304
+        TaskListVersion version = taskService.findListVersion();
+        String eTag = TaskETags.forList(version, webRequest.getParameterMap());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        Specification<Task> spec = TaskSpecifications.matching(filter);
+        if (limit != null || cursor != null) {
+            return getTaskPage(spec, sortField.get(), sortDirection, limit, cursor, eTag);
+        }
+        Sort sort = sortField.get().toSort(sortDirection);
+        List<TaskSummary> taskList= taskService.findSummaries(spec, sort, 0);
+        return ResponseEntity.ok().eTag(eTag).body(taskList);
+    }
+
+    private ResponseEntity<?> getTaskPage(Specification<Task> spec, TaskSortField sortField,
+                                          Sort.Direction sortDirection, Integer limit, String cursor,
+                                          String eTag) {
+        if (sortField != TaskSortField.CREATED_AT) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Постраничный вывод поддерживает только сортировку по createdAt"));
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE));
+        }
+        if (cursor != null) {
+            TaskCursor after = TaskCursor.decode(cursor);
+            if (after == null) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                        .body(Map.of("message", "Некорректный курсор"));
+            }
+            spec = spec.and(TaskSpecifications.afterCursor(after, sortDirection.isAscending()));
+        }
+
+        // запрашиваем на одну запись больше, чтобы понять, есть ли следующая страница
+        Sort sort = sortField.toSort(sortDirection);
+        List<TaskSummary> tasks = taskService.findSummaries(spec, sort, pageSize + 1);
+
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            TaskSummary last = tasks.get(pageSize - 1);
+            nextCursor = new TaskCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ResponseEntity.ok().eTag(eTag)
+                .body(new TaskPage<>(tasks, pageSize, nextCursor));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(@RequestParam String q,
+                                         @RequestParam(defaultValue = "20") int limit,
+                                         @RequestParam(defaultValue = "0") int offset) {
+        if (!taskSearchService.isAvailable()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Поиск временно недоступен"));
+        }
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Поисковый запрос не может быть пустым"));
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE || offset < 0) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE));
+        }
+        try {
+            return ResponseEntity.ok(taskSearchService.search(q, limit, offset));
+        } catch (DataAccessException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Некорректный поисковый запрос"));
+        }
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                taskExportService.writeNdjson(gzipOut);
+                gzipOut.finish();
+            } else {
+                taskExportService.writeNdjson(out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Задачи, изменённые после since, и удалённые после since, страницами не больше limit записей.
+     * Ответ cursor передаётся в следующем запросе вместо since; 410, если отметки об удалениях
+     * за период уже не хранятся.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "" + MAX_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE));
+        }
+        TaskSyncCursor from;
+        if (cursor != null) {
+            from = TaskSyncCursor.decode(cursor);
+            if (from == null) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                        .body(Map.of("message", "Некорректный курсор"));
+            }
+        } else if (since != null) {
+            from = TaskSyncCursor.since(since);
+        } else {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Нужен параметр since или cursor"));
+        }
+        Optional<TaskChanges> changes = taskSyncService.changesAfter(from, limit);
+        if (changes.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE).contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "История изменений за этот период не хранится, загрузите список заново"));
+        }
+        return ResponseEntity.ok(changes.get());
+    }
+
+    /**
+     * Лента изменений задач (Server-Sent Events). После переподключения браузер сам присылает
+     * Last-Event-ID, и лента досылает пропущенные события вместо полного перечитывания списка.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return taskChangeFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTaskById(@PathVariable UUID id) {
-        Optional<Task> optTask = taskRepository.findById(id);
+    public ResponseEntity<?> getTaskById(@PathVariable UUID id, WebRequest webRequest) {
+        // условный запрос проверяем по версии, не загружая и не сериализуя задачу
+        if (TaskETags.isConditional(webRequest)) {
+            Optional<TaskVersion> version = taskService.findVersionById(id);
+            if (version.isPresent() && webRequest.checkNotModified(TaskETags.forTask(id, version.get().getVersion()),
+                    TaskETags.lastModified(version.get().getUpdatedAt()))) {
+                return null;
+            }
+        }
+        Optional<Task> optTask = taskService.findById(id);
         if(optTask.isEmpty()){
-            return ResponseEntity.status(404).contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Задача не найдена"));
+            return notFound();
         }
         else {
             Task task = optTask.get();
-            return ResponseEntity.ok().body(task);
+            return ResponseEntity.ok()
+                    .eTag(TaskETags.forTask(task.getId(), task.getVersion()))
+                    .lastModified(TaskETags.lastModified(task.getUpdatedAt()))
+                    .body(TaskDetail.from(task));
         }
     }
 
     @PostMapping
     public ResponseEntity<?> createTask(@Valid @RequestBody TaskRequest request) {
-        Task task = new Task();
-        task.setStatus(request.getStatus());
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        processTitle(task);
-        if(request.getPriority()!=null){
-            task.setPriority(request.getPriority());
-        }
-        if(request.getDeadline()!=null){
-            task.setDeadline(request.getDeadline());
-        }
-        if(task.getTitle().length()<4) {
-            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Имя не может быть меньше 4 символов"));
+        TaskWriteResult result = taskService.create(request);
+        if (result.getOutcome() != TaskWriteResult.Outcome.OK) {
+            return writeFailed(result);
         }
-        if(task.getTitle().length()>255) {
-            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Имя не может быть больше 255 символов"));
+        return new ResponseEntity<>(result.getTask(), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<TaskRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            return batchTooLarge();
         }
-        if(task.getDeadline()!=null && task.getDeadline().isBefore(LocalDate.now())){
-            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Дэдлайн не может быть раньше настоящего времени"));
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Task> tasks = new ArrayList<>(requests.size());
+        List<Integer> indexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                results[i] = new BatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(),
+                        "Элемент пакета не может быть пустым");
+                continue;
+            }
+            Task task = new Task();
+            String error = validateRequest(requests.get(i));
+            if (error == null) {
+                error = applyCreate(task, requests.get(i));
+            }
+            if (error != null) {
+                results[i] = new BatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(), error);
+            } else {
+                tasks.add(task);
+                indexes.add(i);
+            }
         }
-        updateTaskStatus(task);
-        Task savedTask = taskRepository.save(task);
-        return new ResponseEntity<>(savedTask, HttpStatus.CREATED);
+        List<Task> savedTasks = taskService.createAll(tasks);
+        for (int i = 0; i < savedTasks.size(); i++) {
+            int index = indexes.get(i);
+            results[index] = new BatchItemResult(index, savedTasks.get(i).getId(), HttpStatus.CREATED.value(), null);
+        }
+        return ResponseEntity.ok(Arrays.asList(results));
     }
 
     @PutMapping
-    public ResponseEntity<?> updateTask(@RequestParam UUID id, @Valid @RequestBody TaskRequest taskDetails) {
-        Optional<Task> optTask = taskRepository.findById(id);
-        if(optTask.isEmpty()){
-            return ResponseEntity.status(404).contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Задача не найдена"));
-        }
-        Task existingTask= optTask.get();
-        existingTask.setTitle(taskDetails.getTitle());
-        existingTask.setDescription(taskDetails.getDescription());
-        existingTask.setStatus(taskDetails.getStatus());
-        existingTask.setUpdatedAt(LocalDateTime.now());
+    public ResponseEntity<?> updateTask(@RequestParam UUID id, @Valid @RequestBody TaskRequest taskDetails,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return updateTask(id, ifMatch, task -> applyUpdate(task, taskDetails));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchTask(@PathVariable UUID id, @RequestBody TaskPatchRequest patch,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return updateTask(id, ifMatch, task -> applyPatch(task, patch));
+    }
 
-        processTitle(existingTask);
-        if(taskDetails.getPriority()!=null){
-            existingTask.setPriority(taskDetails.getPriority());
+    private ResponseEntity<?> updateTask(UUID id, String ifMatch, Function<Task, String> changes) {
+        TaskWriteResult result;
+        try {
+            result = taskService.update(id,
+                    task -> ifMatch == null || TaskETags.matches(ifMatch, TaskETags.forTask(id, task.getVersion())),
+                    changes);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            taskService.evictCached(id);
+            // задачу изменили между чтением и записью; 412 только если клиент ставил условие If-Match
+            return ifMatch != null ? preconditionFailed() : conflict();
         }
-        if(taskDetails.getDeadline()!=null){
-            existingTask.setDeadline(taskDetails.getDeadline());
+        if (result.getOutcome() != TaskWriteResult.Outcome.OK) {
+            return writeFailed(result);
         }
-        if(existingTask.getTitle().length()<4) {
-            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Имя не может быть меньше 4 символов"));
-        }
-        /*if(existingTask.getDeadline()!=null && existingTask.getDeadline().isBefore(LocalDate.now())){
-            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Дэдлайн не может быть раньше настоящего времени"));
-        }*/
-        updateTaskStatus(existingTask);
-        Task updatedTask = taskRepository.save(existingTask);
+        Task updatedTask = result.getTask();
+        return ResponseEntity.ok()
+                .eTag(TaskETags.forTask(updatedTask.getId(), updatedTask.getVersion()))
+                .body(updatedTask);
+    }
 
-        return ResponseEntity.ok(updatedTask);
+    @PutMapping("/batch")
+    public ResponseEntity<?> updateTasks(@RequestBody List<TaskBatchUpdateRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            return batchTooLarge();
+        }
+        List<BatchItemResult> results;
+        try {
+            results = taskBatchService.updateAll(requests, (task, request) -> {
+                String error = validateRequest(request);
+                return error != null ? error : applyUpdate(task, request);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // версии сверяются при flush перед commit; к этому моменту пакет уже откатан целиком
+            return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", "Задачи пакета были изменены другим запросом, пакет не применён"));
+        }
+        return ResponseEntity.ok(results);
     }
 
     @DeleteMapping
-    public ResponseEntity<?> deleteTask(@RequestParam UUID id) {
-        Optional<Task> optTask = taskRepository.findById(id);
-        if(optTask.isEmpty()){
-            return ResponseEntity.status(404).contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of("message", "Задача не найдена"));
+    public ResponseEntity<?> deleteTask(@RequestParam UUID id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskWriteResult result = taskService.delete(id, ifMatch == null ? null
+                : version -> TaskETags.matches(ifMatch, TaskETags.forTask(id, version)));
+        if (result.getOutcome() != TaskWriteResult.Outcome.OK) {
+            return writeFailed(result);
         }
-        taskRepository.deleteById(id);
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
                 .body(Map.of("message", "Задача удалена"));
     }
 
-    public void processTitle(Task task) {
-        if (task.getTitle().contains("!1")) {
-            task.setPriority(Priority.CRITICAL);
-        } else if (task.getTitle().contains("!2")) {
-            task.setPriority(Priority.HIGH);
-        } else if (task.getTitle().contains("!3")) {
-            task.setPriority(Priority.MEDIUM);
-        } else if (task.getTitle().contains("!4")) {
-            task.setPriority(Priority.LOW);
-        }
-
-        task.setTitle(task.getTitle().replaceAll("!1|!2|!3|!4", "").trim());
-        Pattern pattern = Pattern.compile("!before\\s+(\\d{2}[.-]\\d{2}[.-]\\d{4})");
-        Matcher matcher = pattern.matcher(task.getTitle());
-        if (matcher.find()) {
-            String dateString = matcher.group(1);
-            DateTimeFormatter formatter1 = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-            DateTimeFormatter formatter2 = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-            try {
-                LocalDate deadline = LocalDate.parse(dateString, formatter1);
-                task.setDeadline(deadline);
-            } catch (DateTimeParseException e1) {
-                try {
-                    LocalDate deadline = LocalDate.parse(dateString, formatter2);
-                    task.setDeadline(deadline);
-                } catch (DateTimeParseException e2) {
-                    System.err.println("Неверный формат даты: " + dateString);
-                }
-            }
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteTasks(@RequestBody List<UUID> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return batchTooLarge();
+        }
+        Set<UUID> deleted = taskBatchService.deleteAll(ids);
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            results.add(deleted.contains(id)
+                    ? new BatchItemResult(i, id, HttpStatus.OK.value(), null)
+                    : new BatchItemResult(i, id, HttpStatus.NOT_FOUND.value(), "Задача не найдена"));
         }
-        task.setTitle(task.getTitle().replaceAll(pattern.pattern(), "").trim());
+        return ResponseEntity.ok(results);
     }
 
-    public void updateTaskStatus(Task task) {
-        if (task.getDeadline() != null) {
-            LocalDate today = LocalDate.now();
-            if (task.getStatus() == Status.COMPLETED) {
-                if (task.getDeadline().isBefore(today)) {
-                    task.setStatus(Status.LATE);
-                }
-            } else {
-                if (task.getDeadline().isBefore(today)) {
-                    task.setStatus(Status.OVERDUE);
-                } else task.setStatus(Status.ACTIVE);
-            }
-        }
+    // в пакетных запросах @Valid не применяется, чтобы одна ошибка не отклоняла весь пакет
+    private String validateRequest(TaskRequest request) {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private ResponseEntity<?> writeFailed(TaskWriteResult result) {
+        return switch (result.getOutcome()) {
+            case NOT_FOUND -> notFound();
+            case PRECONDITION_FAILED -> preconditionFailed();
+            default -> ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", result.getError()));
+        };
+    }
+
+    private ResponseEntity<?> notFound() {
+        return ResponseEntity.status(404).contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", "Задача не найдена"));
+    }
+
+    private ResponseEntity<?> preconditionFailed() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", "Задача была изменена другим запросом"));
+    }
+
+    private ResponseEntity<?> conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", "Задача была изменена другим запросом"));
     }
-}
 
+    private ResponseEntity<?> batchTooLarge() {
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", "В пакете не может быть больше " + MAX_BATCH_SIZE + " задач"));
+    }
+
+    // правила задач живут в TaskRules и общие для MVC и реактивного API
+    public String applyCreate(Task task, TaskRequest request) {
+        return taskRules.applyCreate(task, request);
+    }
+
+    public String applyUpdate(Task existingTask, TaskRequest taskDetails) {
+        return taskRules.applyUpdate(existingTask, taskDetails);
+    }
+
+    public String applyPatch(Task existingTask, TaskPatchRequest patch) {
+        return taskRules.applyPatch(existingTask, patch);
+    }
 
+    public void processTitle(Task task) {
+        taskRules.processTitle(task);
+    }
+
+    public void updateTaskStatus(Task task) {
+        taskRules.updateTaskStatus(task);
+    }
+}
@@ -9,6 +9,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -16,7 +17,18 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "Tasks")
+@Table(name = "Tasks", indexes = {
+        // индексы сортировки заканчиваются на id, как и ORDER BY в TaskSortField.toSort
+        @Index(name = "idx_tasks_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_deadline_id", columnList = "deadline, id"),
+        @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+        @Index(name = "idx_tasks_status_deadline", columnList = "status, deadline"),
+        @Index(name = "idx_tasks_priority_id", columnList = "priority, id"),
+        @Index(name = "idx_tasks_title_id", columnList = "title, id"),
+        @Index(name = "idx_tasks_updated_at", columnList = "updated_at, id")
+})
+// UPDATE содержит только изменённые колонки: PATCH статуса не переписывает title и description
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +36,7 @@ import java.util.UUID;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @NotBlank(message = "Название не может быть пустым")
@@ -45,4 +57,16 @@ public class Task {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    // default 0 нужен, чтобы ddl-auto смог добавить колонку в таблицу с существующими задачами
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    /**
+     * Копия для изменения: экземпляры из кэша задач общие для всех запросов, менять их на месте нельзя.
+     */
+    public Task copy() {
+        return new Task(id, title, description, deadline, status, priority, createdAt, updatedAt, version);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.TodoList.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Отметка об удалённой задаче для /api/tasks/changes. Задачи удаляются физически,
+ * а отметка хранится, пока не истечёт todo.sync.tombstone-retention.
+ */
+@Entity
+@Table(name = "Task_Tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_deleted_at", columnList = "deleted_at, task_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone {
+
+    @Id
+    private UUID taskId;
+
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.TodoList.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.UUID;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TaskBatchUpdateRequest extends TaskRequest {
+    @Schema(description = "Идентификатор задачи")
+    @NotNull(message = "Идентификатор задачи не указан")
+    public UUID id;
+}
@@ -0,0 +1,26 @@
+package com.example.TodoList.models;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.entities.TaskTombstone;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница изменений задач. cursor передаётся в следующем запросе; hasMore - следующая страница
+ * уже готова, её можно запросить сразу.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChanges {
+    private List<Task> updated;
+
+    private List<TaskTombstone> deleted;
+
+    private String cursor;
+
+    private boolean hasMore;
+}
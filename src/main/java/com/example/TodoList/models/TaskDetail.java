@@ -0,0 +1,40 @@
+package com.example.TodoList.models;
+
+import com.example.TodoList.entities.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Задача целиком для GET /api/tasks/{id}. Строится из задачи в кэше, а не сериализует сущность,
+ * поэтому состав ответа не зависит от связей, которые могут появиться в Task.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskDetail {
+    private final UUID id;
+
+    private final String title;
+
+    private final String description;
+
+    private final LocalDate deadline;
+
+    private final Status status;
+
+    private final Priority priority;
+
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime updatedAt;
+
+    private final Long version;
+
+    public static TaskDetail from(Task task) {
+        return new TaskDetail(task.getId(), task.getTitle(), task.getDescription(), task.getDeadline(),
+                task.getStatus(), task.getPriority(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+    }
+}
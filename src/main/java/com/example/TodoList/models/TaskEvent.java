@@ -0,0 +1,29 @@
+package com.example.TodoList.models;
+
+import com.example.TodoList.entities.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Событие ленты изменений задач. id растёт монотонно и служит Last-Event-ID для возобновления.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEvent {
+    private long id;
+
+    private TaskEventType type;
+
+    private UUID taskId;
+
+    private Task task;
+
+    private LocalDateTime occurredAt;
+}
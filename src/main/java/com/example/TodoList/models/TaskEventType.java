@@ -0,0 +1,9 @@
+package com.example.TodoList.models;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // плановый пересчёт статусов меняет задачи пачками без загрузки, клиенту нужно перечитать список
+    STATUSES_RECALCULATED
+}
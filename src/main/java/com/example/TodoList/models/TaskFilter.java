@@ -0,0 +1,30 @@
+package com.example.TodoList.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class TaskFilter {
+    @Schema(description = "Статусы задач", example = "OVERDUE")
+    private List<Status> status;
+
+    @Schema(description = "Приоритеты задач", example = "CRITICAL")
+    private List<Priority> priority;
+
+    @Schema(description = "Дэдлайн не раньше", example = "2026-10-12")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineFrom;
+
+    @Schema(description = "Дэдлайн не позже", example = "2026-10-18")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineTo;
+
+    @Schema(description = "Создана позже", example = "2026-10-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdAfter;
+}
@@ -0,0 +1,17 @@
+package com.example.TodoList.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Версия всего списка задач: меняется при любом создании, изменении или удалении задачи.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskListVersion {
+    private final Long count;
+
+    private final LocalDateTime lastUpdatedAt;
+}
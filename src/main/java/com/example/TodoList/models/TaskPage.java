@@ -0,0 +1,18 @@
+package com.example.TodoList.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPage<T> {
+    private List<T> items;
+
+    private int limit;
+
+    private String nextCursor;
+}
@@ -0,0 +1,63 @@
+package com.example.TodoList.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Тело JSON Merge Patch (RFC 7396) для задачи. Поле, отсутствующее в запросе, не меняется,
+ * поле со значением null очищается, поэтому сеттеры запоминают, какие поля были переданы.
+ */
+@Getter
+public class TaskPatchRequest {
+    @Schema(description = "Название задачи", example = "name")
+    private String title;
+
+    @Schema(description = "Описание задачи", example = "description")
+    private String description;
+
+    @Schema(description = "Статус задачи", example = "ACTIVE")
+    private Status status;
+
+    @Schema(description = "Приоритет", example = "LOW")
+    private Priority priority;
+
+    @Schema(description = "Дэдлайн", example = "11.11.2111")
+    private LocalDate deadline;
+
+    @JsonIgnore
+    private final Set<String> present = new HashSet<>();
+
+    public void setTitle(String title) {
+        this.title = title;
+        present.add("title");
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        present.add("description");
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+        present.add("status");
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+        present.add("priority");
+    }
+
+    public void setDeadline(LocalDate deadline) {
+        this.deadline = deadline;
+        present.add("deadline");
+    }
+
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.TodoList.models;
+
+import com.example.TodoList.entities.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchHit {
+    private Task task;
+
+    private float score;
+}
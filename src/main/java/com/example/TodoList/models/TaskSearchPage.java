@@ -0,0 +1,18 @@
+package com.example.TodoList.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchPage {
+    private List<TaskSearchHit> items;
+
+    private int limit;
+
+    private int offset;
+}
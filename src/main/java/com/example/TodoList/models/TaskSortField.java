@@ -0,0 +1,54 @@
+package com.example.TodoList.models;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Поля, по которым разрешена сортировка списка задач. Для каждого есть индекс (поле, id) в таблице Tasks,
+ * поэтому список отдаётся в порядке индекса, а не сортировкой всей таблицы.
+ */
+public enum TaskSortField {
+    CREATED_AT("createdAt", "created_at"),
+    DEADLINE("deadline", "deadline"),
+    PRIORITY("priority", "priority"),
+    STATUS("status", "status"),
+    TITLE("title", "title");
+
+    private final String property;
+
+    private final String column;
+
+    TaskSortField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    // имя колонки для запросов в обход JPA (ReactiveTaskRepository)
+    public String getColumn() {
+        return column;
+    }
+
+    // id добавляется вторым ключом, чтобы порядок задач с равными значениями был стабильным
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+
+    public static Optional<TaskSortField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+
+    public static String allowedProperties() {
+        return Arrays.stream(values())
+                .map(TaskSortField::getProperty)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.TodoList.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Задача в списке: без описания и служебных полей. Выбирается конструктором прямо в запросе
+ * (TaskSummaryRepository), поэтому сущности Task для списка не создаются.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSummary {
+    private final UUID id;
+
+    private final String title;
+
+    private final Status status;
+
+    private final Priority priority;
+
+    private final LocalDate deadline;
+
+    private final LocalDateTime createdAt;
+}
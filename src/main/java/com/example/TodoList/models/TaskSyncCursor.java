@@ -0,0 +1,62 @@
+package com.example.TodoList.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Непрозрачный курсор дельта-синхронизации: позиция (updatedAt, id) в изменённых задачах
+ * и позиция (deletedAt, taskId) в отметках об удалениях. Следующий запрос возвращает записи строго после них.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSyncCursor {
+
+    // меньше любого id: позиция (момент, MIN_ID) включает все записи с этим моментом
+    public static final UUID MIN_ID = new UUID(0, 0);
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime updatedAt;
+
+    private final UUID updatedId;
+
+    private final LocalDateTime deletedAt;
+
+    private final UUID deletedId;
+
+    /**
+     * Курсор первого запроса: всё, что изменено или удалено начиная с момента since.
+     */
+    public static TaskSyncCursor since(LocalDateTime since) {
+        return new TaskSyncCursor(since, MIN_ID, since, MIN_ID);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, updatedAt.toString(), updatedId.toString(),
+                deletedAt.toString(), deletedId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return курсор или null, если строка не является курсором, выданным сервисом
+     */
+    public static TaskSyncCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            return new TaskSyncCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]),
+                    LocalDateTime.parse(parts[2]), UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.TodoList.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Версия одной задачи для условных запросов: счётчик @Version и время последнего изменения.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskVersion {
+    private final Long version;
+
+    private final LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.example.TodoList.models;
+
+import com.example.TodoList.entities.Task;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Итог изменения задачи в TaskService: изменённая задача или причина отказа.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskWriteResult {
+
+    public enum Outcome {
+        OK,
+        NOT_FOUND,
+        PRECONDITION_FAILED,
+        INVALID
+    }
+
+    private final Outcome outcome;
+
+    private final Task task;
+
+    private final String error;
+
+    public static TaskWriteResult ok(Task task) {
+        return new TaskWriteResult(Outcome.OK, task, null);
+    }
+
+    public static TaskWriteResult notFound() {
+        return new TaskWriteResult(Outcome.NOT_FOUND, null, null);
+    }
+
+    public static TaskWriteResult preconditionFailed() {
+        return new TaskWriteResult(Outcome.PRECONDITION_FAILED, null, null);
+    }
+
+    public static TaskWriteResult invalid(String error) {
+        return new TaskWriteResult(Outcome.INVALID, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.TodoList.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Результат разбора макросов в названии задачи.
+ * priority и deadline равны null, если соответствующего макроса в названии нет.
+ */
+@Getter
+@AllArgsConstructor
+public class TitleMacros {
+    private final String title;
+
+    private final Priority priority;
+
+    private final LocalDate deadline;
+}
@@ -0,0 +1,170 @@
+package com.example.TodoList.repositories;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.entities.UuidV7Generator;
+import com.example.TodoList.models.Priority;
+import com.example.TodoList.models.Status;
+import com.example.TodoList.models.TaskSortField;
+import com.example.TodoList.models.TaskSummary;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Доступ к таблице Tasks через R2DBC для реактивного варианта API. Работает с той же сущностью Task,
+ * что и TaskRepository, но отображает строки вручную: JPA-аннотации R2DBC не понимает.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS =
+            "id, title, description, deadline, status, priority, created_at, updated_at, version";
+
+    // столбцы TaskSummary: список не читает description и служебные поля
+    private static final String SUMMARY_COLUMNS = "id, title, status, priority, deadline, created_at";
+
+    // r2dbc-h2 передаёт строки как CLOB, а H2 не приводит CLOB к ENUM-колонкам status и priority
+    private static final String STATUS = "cast(:status as varchar(255))";
+
+    private static final String PRIORITY = "cast(:priority as varchar(255))";
+
+    private final DatabaseClient databaseClient;
+
+    // DatabaseClient присоединяется к транзакции через контекст Reactor, если фабрика соединений та же
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveTaskRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(
+                new R2dbcTransactionManager(databaseClient.getConnectionFactory()));
+    }
+
+    public Flux<TaskSummary> findSummaries(TaskSortField sortField, Sort.Direction direction) {
+        // колонка берётся из белого списка TaskSortField, поэтому её можно подставить в текст запроса
+        String order = direction.isAscending() ? "asc" : "desc";
+        return databaseClient.sql("select " + SUMMARY_COLUMNS + " from tasks order by "
+                        + sortField.getColumn() + " " + order + ", id " + order)
+                .map(ReactiveTaskRepository::toSummary)
+                .all();
+    }
+
+    public Mono<Task> findById(UUID id) {
+        return databaseClient.sql("select " + COLUMNS + " from tasks where id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    /**
+     * Сохраняет новую задачу. id и отметки времени проставляются здесь, как это делает Hibernate.
+     */
+    public Mono<Task> insert(Task task) {
+        LocalDateTime now = LocalDateTime.now();
+        task.setId(UuidV7Generator.nextUuid());
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        task.setVersion(0L);
+        return bindFields(databaseClient.sql("insert into tasks (" + COLUMNS + ") values (:id, :title, :description, "
+                        + ":deadline, " + STATUS + ", " + PRIORITY + ", :createdAt, :updatedAt, :version)"), task)
+                .bind("createdAt", task.getCreatedAt())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(task);
+    }
+
+    /**
+     * Обновляет задачу, если её версия в базе совпадает с task.getVersion().
+     *
+     * @return задача с новой версией или пустой Mono, если задачу уже изменили или удалили
+     */
+    public Mono<Task> update(Task task) {
+        Long expectedVersion = task.getVersion();
+        task.setUpdatedAt(LocalDateTime.now());
+        task.setVersion(expectedVersion + 1);
+        return bindFields(databaseClient.sql("update tasks set title = :title, description = :description, "
+                        + "deadline = :deadline, status = " + STATUS + ", priority = " + PRIORITY + ", updated_at = :updatedAt, "
+                        + "version = :version where id = :id and version = :expectedVersion"), task)
+                .bind("expectedVersion", expectedVersion)
+                .fetch()
+                .rowsUpdated()
+                .filter(rows -> rows > 0)
+                .map(rows -> task);
+    }
+
+    /**
+     * Удаляет задачу и в той же транзакции пишет отметку об удалении, как TaskSyncService в JPA-варианте,
+     * чтобы /api/tasks/changes узнал об удалении.
+     *
+     * @return число удалённых строк; 0 - задачи не было, и отметка не пишется
+     */
+    public Mono<Long> deleteById(UUID id) {
+        return databaseClient.sql("delete from tasks where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0 ? Mono.just(rows)
+                        : databaseClient.sql("insert into task_tombstones (task_id, deleted_at) "
+                                        + "values (:id, :deletedAt)")
+                                .bind("id", id)
+                                .bind("deletedAt", LocalDateTime.now())
+                                .fetch()
+                                .rowsUpdated()
+                                .thenReturn(rows))
+                .as(transactionalOperator::transactional);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec spec, Task task) {
+        spec = spec.bind("id", task.getId())
+                .bind("title", task.getTitle())
+                .bind("updatedAt", task.getUpdatedAt())
+                .bind("version", task.getVersion());
+        spec = bindNullable(spec, "description", task.getDescription(), String.class);
+        spec = bindNullable(spec, "deadline", task.getDeadline(), LocalDate.class);
+        spec = bindNullable(spec, "status", task.getStatus() != null ? task.getStatus().name() : null, String.class);
+        return bindNullable(spec, "priority", task.getPriority() != null ? task.getPriority().name() : null,
+                String.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static TaskSummary toSummary(Readable row) {
+        String status = row.get("status", String.class);
+        String priority = row.get("priority", String.class);
+        return new TaskSummary(
+                row.get("id", UUID.class),
+                row.get("title", String.class),
+                status != null ? Status.valueOf(status) : null,
+                priority != null ? Priority.valueOf(priority) : null,
+                row.get("deadline", LocalDate.class),
+                row.get("created_at", LocalDateTime.class));
+    }
+
+    private static Task toTask(Readable row) {
+        String status = row.get("status", String.class);
+        String priority = row.get("priority", String.class);
+        return new Task(
+                row.get("id", UUID.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("deadline", LocalDate.class),
+                status != null ? Status.valueOf(status) : null,
+                priority != null ? Priority.valueOf(priority) : null,
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
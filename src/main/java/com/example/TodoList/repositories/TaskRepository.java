@@ -1,11 +1,128 @@
 package com.example.TodoList.repositories;
 
 import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskListVersion;
+import com.example.TodoList.models.TaskVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.example.TodoList.CacheConfig.TASKS_CACHE;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task>,
+        TaskSummaryRepository {
+
+    // Чтение по id идёт через кэш; все методы записи обновляют или сбрасывают его
+    @Override
+    @Cacheable(cacheNames = TASKS_CACHE, key = "#p0", unless = "#result == null")
+    Optional<Task> findById(UUID id);
+
+    // Чтение для изменения идёт мимо кэша: запись в кэше может отставать от базы, если поздний put
+    // после чтения перекрыл более новый put после save
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findForUpdate(@Param("id") UUID id);
+
+    @Override
+    @CachePut(cacheNames = TASKS_CACHE, key = "#result.id")
+    <S extends Task> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#p0")
+    void deleteById(UUID id);
+
+    @Override
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#p0.id")
+    void delete(Task entity);
+
+    @Override
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    <S extends Task> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<UUID> ids);
+
+    @Override
+    @CacheEvict(cacheNames = TASKS_CACHE, allEntries = true)
+    void deleteAll();
+
+    // Для потоковой выгрузки, сущности только для чтения. Fetch size нужен внешним базам; встроенная H2
+    // отдаёт строки по мере чтения только в режиме LAZY_QUERY_EXECUTION (его включает TaskExportService)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.createdAt asc, t.id asc")
+    Stream<Task> streamAll();
+
+    // дельта-синхронизация: страница после позиции (after, afterId) по индексу idx_tasks_updated_at
+    @Query("select t from Task t where t.updatedAt > :after or (t.updatedAt = :after and t.id > :afterId) " +
+            "order by t.updatedAt asc, t.id asc")
+    List<Task> findUpdatedAfter(@Param("after") LocalDateTime after, @Param("afterId") UUID afterId, Limit limit);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Переводит не больше chunkSize задач со статусом from и прошедшим дэдлайном в статус to.
+     * Каждый вызов - отдельная короткая транзакция.
+     *
+     * @return число изменённых строк
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "update tasks set status = :to, updated_at = :now, version = version + 1 where id in (" +
+            "select id from tasks where status = :from and deadline < :today fetch first :chunkSize rows only)",
+            nativeQuery = true)
+    int transitionStatus(@Param("from") String from, @Param("to") String to, @Param("today") LocalDate today,
+                         @Param("now") LocalDateTime now, @Param("chunkSize") int chunkSize);
+
+    // Лёгкие запросы версий для условных GET: без загрузки сущностей
+    @Query("select new com.example.TodoList.models.TaskVersion(t.version, t.updatedAt) from Task t where t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") UUID id);
+
+    @Query("select new com.example.TodoList.models.TaskListVersion(count(t), max(t.updatedAt)) from Task t")
+    TaskListVersion findListVersion();
+
+    /**
+     * Удаляет задачу одним delete, без предварительной загрузки сущности.
+     *
+     * @return 1, если задача была удалена, 0 - если её не было
+     */
+    @Modifying
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#p0")
+    @Query("delete from Task t where t.id = :id")
+    int deleteOneById(@Param("id") UUID id);
+
+    /**
+     * Удаляет задачу, только если её версия не изменилась.
+     *
+     * @return 1, если задача удалена, иначе 0
+     */
+    @Modifying
+    @Transactional
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#p0")
+    @Query("delete from Task t where t.id = :id and t.version = :version")
+    int deleteByIdAndVersion(@Param("id") UUID id, @Param("version") Long version);
 }
@@ -0,0 +1,58 @@
+package com.example.TodoList.repositories;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskCursor;
+import com.example.TodoList.models.TaskFilter;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Условия выборки задач. Каждое условие опирается на индексированный столбец таблицы Tasks.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Все заданные в фильтре условия через AND; пустой фильтр выбирает все задачи.
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        Specification<Task> spec = Specification.where(null);
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("status").in(filter.getStatus()));
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("priority").in(filter.getPriority()));
+        }
+        if (filter.getDeadlineFrom() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("deadline"), filter.getDeadlineFrom()));
+        }
+        if (filter.getDeadlineTo() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("deadline"), filter.getDeadlineTo()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("createdAt"), filter.getCreatedAfter()));
+        }
+        return spec;
+    }
+
+    /**
+     * Keyset-условие для следующей страницы: задачи строго после курсора в порядке (createdAt, id).
+     */
+    public static Specification<Task> afterCursor(TaskCursor cursor, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<UUID> id = root.get("id");
+            if (ascending) {
+                return cb.or(cb.greaterThan(createdAt, cursor.getCreatedAt()),
+                        cb.and(cb.equal(createdAt, cursor.getCreatedAt()), cb.greaterThan(id, cursor.getId())));
+            }
+            return cb.or(cb.lessThan(createdAt, cursor.getCreatedAt()),
+                    cb.and(cb.equal(createdAt, cursor.getCreatedAt()), cb.lessThan(id, cursor.getId())));
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.TodoList.repositories;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskSummaryRepository {
+
+    /**
+     * Список задач по спецификации, выбираются только колонки TaskSummary.
+     *
+     * @param limit максимальное число строк; 0 - без ограничения
+     */
+    List<TaskSummary> findSummaries(Specification<Task> spec, Sort sort, int limit);
+}
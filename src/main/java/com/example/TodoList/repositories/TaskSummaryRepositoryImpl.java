@@ -0,0 +1,45 @@
+package com.example.TodoList.repositories;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+// JpaSpecificationExecutor не умеет выбирать DTO конструктором, поэтому запрос собирается через Criteria API
+class TaskSummaryRepositoryImpl implements TaskSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    TaskSummaryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskSummary> findSummaries(Specification<Task> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskSummary.class,
+                root.get("id"), root.get("title"), root.get("status"), root.get("priority"),
+                root.get("deadline"), root.get("createdAt")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        TypedQuery<TaskSummary> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+}
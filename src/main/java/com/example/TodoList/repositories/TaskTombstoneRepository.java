@@ -0,0 +1,28 @@
+package com.example.TodoList.repositories;
+
+import com.example.TodoList.entities.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    @Query("select t from TaskTombstone t where t.deletedAt > :after or (t.deletedAt = :after and t.taskId > :afterId) " +
+            "order by t.deletedAt asc, t.taskId asc")
+    List<TaskTombstone> findDeletedAfter(@Param("after") LocalDateTime after, @Param("afterId") UUID afterId,
+                                         Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("delete from TaskTombstone t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,141 @@
+package com.example.TodoList.services;
+
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Измерение SQL через datasource-proxy вместо spring.jpa.show-sql. В лог попадают только запросы
+ * дольше todo.sql.slow-threshold, а по каждому тексту запроса копится статистика,
+ * доступная на /actuator/sqlstats (время в микросекундах).
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlQueryStatistics implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+
+    private static final String START_NANOS = SqlQueryStatistics.class.getName() + ".start";
+
+    private final long slowThresholdNanos;
+
+    private final int maxStatements;
+
+    private final Map<String, Stats> statements = new ConcurrentHashMap<>();
+
+    public SqlQueryStatistics(@Value("${todo.sql.slow-threshold:200ms}") Duration slowThreshold,
+                              @Value("${todo.sql.max-statements:500}") int maxStatements) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxStatements = maxStatements;
+    }
+
+    // getElapsedTime у datasource-proxy в миллисекундах, а запросы к H2 обычно быстрее; время меряем сами
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsed = start != null
+                ? System.nanoTime() - start
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        // getParametersList - наборы параметров (по одному на строку пакета), в наборе - отдельные привязки
+        int binds = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                binds += parameters.size();
+            }
+        }
+        // пакет из нескольких запросов выполняется одним вызовом: время делится между ними поровну,
+        // чтобы сумма по запросам совпадала с реально затраченной
+        int size = queryInfoList.size();
+        for (int i = 0; i < size; i++) {
+            long share = elapsed / size + (i < elapsed % size ? 1 : 0);
+            record(queryInfoList.get(i).getQuery(), share, execInfo.isSuccess());
+        }
+        if (elapsed >= slowThresholdNanos) {
+            log.warn("Медленный запрос: duration={}ms binds={} batch={} endpoint={} success={} sql={}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), binds, execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                    currentEndpoint(), execInfo.isSuccess(), queryInfoList.get(0).getQuery());
+        }
+    }
+
+    @ReadOperation
+    public List<StatementStats> statistics() {
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(StatementStats::totalMicros).reversed())
+                .toList();
+    }
+
+    private void record(String sql, long elapsed, boolean success) {
+        Stats stats = statements.get(sql);
+        if (stats == null) {
+            // разные тексты запросов (например, in (...) разной длины) не должны расти без предела
+            if (statements.size() >= maxStatements) {
+                return;
+            }
+            stats = statements.computeIfAbsent(sql, key -> new Stats());
+        }
+        stats.record(elapsed, success);
+    }
+
+    private static String currentEndpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return request.getMethod() + " " + request.getRequestURI();
+        }
+        return "-";
+    }
+
+    public record StatementStats(String sql, long count, long errors, long totalMicros, long maxMicros,
+                                 double averageMicros) {
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long elapsedNanos, boolean success) {
+            count.increment();
+            if (!success) {
+                errors.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        StatementStats snapshot(String sql) {
+            long n = count.sum();
+            long total = totalNanos.sum();
+            return new StatementStats(sql, n, errors.sum(), TimeUnit.NANOSECONDS.toMicros(total),
+                    TimeUnit.NANOSECONDS.toMicros(maxNanos.get()), n == 0 ? 0 : total / 1000.0 / n);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.CacheConfig;
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.BatchItemResult;
+import com.example.TodoList.models.TaskBatchUpdateRequest;
+import com.example.TodoList.models.TaskRequest;
+import com.example.TodoList.repositories.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * Пакетные изменения задач: одна транзакция на пакет, чтение одним запросом,
+ * запись пачками JDBC (hibernate.jdbc.batch_size).
+ */
+@Service
+public class TaskBatchService {
+
+    private final TaskRepository taskRepository;
+
+    private final EntityManager entityManager;
+
+    private final Cache taskCache;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    private final TaskSyncService taskSyncService;
+
+    public TaskBatchService(TaskRepository taskRepository, EntityManager entityManager, CacheManager cacheManager,
+                            TaskChangeFeed taskChangeFeed, TaskSyncService taskSyncService) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.taskCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        this.taskChangeFeed = taskChangeFeed;
+        this.taskSyncService = taskSyncService;
+    }
+
+    /**
+     * Обновляет задачи пакета. Все задачи загружаются одним select'ом и остаются управляемыми,
+     * поэтому изменения уходят при flush пачкой update'ов без повторного чтения каждой строки.
+     * Повторное упоминание задачи в пакете отклоняется: оба запроса меняли бы одну управляемую
+     * сущность, и ошибка во втором откатила бы уже подтверждённый первый.
+     *
+     * @param applier переносит запрос в задачу и возвращает текст ошибки или null
+     * @return результаты в порядке запросов
+     */
+    @Transactional
+    public List<BatchItemResult> updateAll(List<TaskBatchUpdateRequest> requests,
+                                           BiFunction<Task, TaskRequest, String> applier) {
+        Set<UUID> ids = new HashSet<>();
+        for (TaskBatchUpdateRequest request : requests) {
+            if (request != null && request.getId() != null) {
+                ids.add(request.getId());
+            }
+        }
+        Map<UUID, Task> tasks = new HashMap<>();
+        for (Task task : taskRepository.findAllById(ids)) {
+            tasks.put(task.getId(), task);
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskBatchUpdateRequest request = requests.get(i);
+            if (request == null) {
+                results.add(new BatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(),
+                        "Элемент пакета не может быть пустым"));
+                continue;
+            }
+            if (request.getId() != null && !seen.add(request.getId())) {
+                results.add(new BatchItemResult(i, request.getId(), HttpStatus.BAD_REQUEST.value(),
+                        "Задача уже указана в этом пакете"));
+                continue;
+            }
+            Task task = request.getId() != null ? tasks.get(request.getId()) : null;
+            if (task == null) {
+                results.add(new BatchItemResult(i, request.getId(), HttpStatus.NOT_FOUND.value(), "Задача не найдена"));
+                continue;
+            }
+            String error = applier.apply(task, request);
+            if (error != null) {
+                // отвязываем задачу, чтобы частично применённые изменения не попали в базу
+                entityManager.detach(task);
+                tasks.remove(task.getId());
+                results.add(new BatchItemResult(i, task.getId(), HttpStatus.BAD_REQUEST.value(), error));
+            } else {
+                // изменения уходят при flush, минуя save, поэтому кэш сбрасываем сами (после commit)
+                taskCache.evict(task.getId());
+                taskChangeFeed.updated(task);
+                results.add(new BatchItemResult(i, task.getId(), HttpStatus.OK.value(), null));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Удаляет существующие задачи из списка одним delete ... where id in (...).
+     *
+     * @return идентификаторы, которые действительно были удалены
+     */
+    @Transactional
+    public Set<UUID> deleteAll(Collection<UUID> ids) {
+        List<UUID> existing = taskRepository.findExistingIds(ids);
+        if (!existing.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(existing);
+            taskSyncService.recordDeletions(existing);
+            existing.forEach(taskChangeFeed::deleted);
+        }
+        return new HashSet<>(existing);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskEvent;
+import com.example.TodoList.models.TaskEventType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Лента изменений задач для SSE. Последние события хранятся в кольцевом буфере ограниченного размера,
+ * поэтому переподключившийся клиент с Last-Event-ID получает только пропущенные события.
+ * Если пропущенное уже вытеснено из буфера, клиент получает событие reset и перечитывает список целиком.
+ * <p>
+ * Запрос, изменивший задачу, только кладёт событие в очереди подписчиков; отправка идёт в отдельных
+ * потоках, по одному активному на подписчика, так что порядок событий сохраняется, а медленный клиент
+ * не задерживает запись. Подписчик, чья очередь переполнилась, отключается и переподключается
+ * с Last-Event-ID.
+ */
+@Service
+public class TaskChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    static final String RESET_EVENT = "reset";
+
+    // в очереди подписчика вместо досылки, которую уже нельзя выполнить
+    private static final TaskEvent RESET = new TaskEvent();
+
+    private final int bufferSize;
+
+    private final int subscriberQueueSize;
+
+    private final ArrayDeque<TaskEvent> buffer;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService deliveryExecutor;
+
+    private long lastEventId;
+
+    public TaskChangeFeed(@Value("${todo.events.buffer-size:1000}") int bufferSize,
+                          @Value("${todo.events.subscriber-queue-size:256}") int subscriberQueueSize,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.bufferSize = bufferSize;
+        this.subscriberQueueSize = subscriberQueueSize;
+        // тот же режим потоков, что у Tomcat и планировщика (см. ThreadingConfig); платформенные потоки
+        // переиспользуются, виртуальные создаются на каждую отправку
+        this.deliveryExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-events-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("task-events-", 0).daemon().factory());
+        this.buffer = new ArrayDeque<>(bufferSize);
+        // нумерация от времени старта: id после перезапуска больше прежних, и старый Last-Event-ID даёт reset
+        this.lastEventId = System.currentTimeMillis() * 1000;
+    }
+
+    public void created(Task task) {
+        publish(TaskEventType.CREATED, task.getId(), task);
+    }
+
+    public void updated(Task task) {
+        publish(TaskEventType.UPDATED, task.getId(), task);
+    }
+
+    public void deleted(UUID id) {
+        publish(TaskEventType.DELETED, id, null);
+    }
+
+    public void statusesRecalculated() {
+        publish(TaskEventType.STATUSES_RECALCULATED, null, null);
+    }
+
+    /**
+     * Подписывает клиента: сначала досылает события после lastEventId, затем передаёт новые.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // досылка и регистрация под одной блокировкой с append: событие не потеряется и не придёт дважды
+        synchronized (buffer) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        TaskEvent oldest = buffer.peekFirst();
+        long firstAvailable = oldest != null ? oldest.getId() : this.lastEventId + 1;
+        if (lastEventId + 1 < firstAvailable || lastEventId > this.lastEventId
+                || this.lastEventId - lastEventId > subscriberQueueSize) {
+            subscriber.queue.offer(RESET);
+            return;
+        }
+        for (TaskEvent event : buffer) {
+            if (event.getId() > lastEventId) {
+                subscriber.queue.offer(event);
+            }
+        }
+    }
+
+    // события из транзакции уходят только после commit, откаченные изменения клиентам не видны
+    private void publish(TaskEventType type, UUID taskId, Task task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(type, taskId, task);
+                }
+            });
+        } else {
+            append(type, taskId, task);
+        }
+    }
+
+    private void append(TaskEventType type, UUID taskId, Task task) {
+        synchronized (buffer) {
+            TaskEvent event = new TaskEvent(++lastEventId, type, taskId, task, LocalDateTime.now());
+            if (buffer.size() == bufferSize) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(event);
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(event)) {
+                    log.warn("Подписчик ленты изменений отстал больше чем на {} событий и отключён",
+                            subscriberQueueSize);
+                    subscribers.remove(subscriber);
+                    subscriber.lagging = true;
+                }
+                subscriber.schedule();
+            }
+        }
+    }
+
+    private static void send(SseEmitter emitter, TaskEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(event.getId()))
+                .name(event.getType().name())
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<TaskEvent> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+
+        // есть ли уже поток, отправляющий события этому подписчику
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean lagging;
+
+        private boolean failed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                TaskEvent event;
+                while (!failed && !lagging && (event = queue.poll()) != null) {
+                    try {
+                        if (event == RESET) {
+                            emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+                        } else {
+                            send(emitter, event);
+                        }
+                    } catch (IOException | IllegalStateException e) {
+                        failed = true;
+                        subscribers.remove(this);
+                    }
+                }
+                if (failed || lagging) {
+                    queue.clear();
+                    if (lagging && !failed) {
+                        // клиент переподключится и досылку получит из буфера
+                        emitter.complete();
+                    }
+                    return;
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.repositories.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка задач в NDJSON: строки читаются курсором и сразу пишутся в ответ,
+ * так что память не зависит от размера таблицы.
+ */
+@Service
+public class TaskExportService {
+
+    // через сколько задач сбрасывать буфер ответа и очищать persistence context
+    static final int CLEAR_INTERVAL = 500;
+
+    private final TaskRepository taskRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskExportService(TaskRepository taskRepository, EntityManager entityManager,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Пишет все задачи в out, по одному JSON-объекту на строку. Поток out не закрывается.
+     */
+    public void writeNdjson(OutputStream out) {
+        // курсор Stream<Task> живёт только внутри транзакции
+        transactionTemplate.executeWithoutResult(status -> {
+            // встроенная H2 игнорирует fetch size и без ленивого выполнения собирает весь результат
+            // (с выгрузкой во временные файлы) до первой строки; режим действует на соединение,
+            // поэтому перед возвратом его в пул он выключается
+            Session session = entityManager.unwrap(Session.class);
+            session.doWork(connection -> setLazyQueryExecution(connection, true));
+            try {
+                write(out);
+            } finally {
+                session.doWork(connection -> setLazyQueryExecution(connection, false));
+            }
+        });
+    }
+
+    private void write(OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(Task.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Task> tasks = taskRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<Task> iterator = tasks.iterator();
+            long count = 0;
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void setLazyQueryExecution(Connection connection, boolean enabled) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LAZY_QUERY_EXECUTION " + enabled);
+        }
+    }
+}
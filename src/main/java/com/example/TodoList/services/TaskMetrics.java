@@ -0,0 +1,63 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.models.Status;
+import com.example.TodoList.models.TitleMacros;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Прикладные метрики правил задач: разбор макросов в названии, смена статуса по дэдлайну
+ * и отклонённые запросы. Задержки обработчиков, вызовы репозиториев и пул соединений
+ * Spring Boot измеряет сам (http.server.requests, spring.data.repository.invocations, hikaricp.*).
+ */
+@Component
+public class TaskMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer titleParse;
+
+    private final Counter priorityMacros;
+
+    private final Counter deadlineMacros;
+
+    public TaskMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.titleParse = Timer.builder("tasks.title.parse")
+                .description("Время разбора макросов в названии задачи")
+                .register(meterRegistry);
+        this.priorityMacros = macroCounter(meterRegistry, "priority");
+        this.deadlineMacros = macroCounter(meterRegistry, "deadline");
+    }
+
+    public TitleMacros parseTitle(Supplier<TitleMacros> parser) {
+        TitleMacros macros = titleParse.record(parser);
+        if (macros.getPriority() != null) {
+            priorityMacros.increment();
+        }
+        if (macros.getDeadline() != null) {
+            deadlineMacros.increment();
+        }
+        return macros;
+    }
+
+    public void statusChanged(Status from, Status to) {
+        meterRegistry.counter("tasks.status.transitions",
+                "from", String.valueOf(from), "to", String.valueOf(to)).increment();
+    }
+
+    public void rejected(String operation) {
+        meterRegistry.counter("tasks.validation.rejections", "operation", operation).increment();
+    }
+
+    private static Counter macroCounter(MeterRegistry meterRegistry, String macro) {
+        return Counter.builder("tasks.title.macros")
+                .description("Число названий, в которых найден макрос")
+                .tag("macro", macro)
+                .register(meterRegistry);
+    }
+}
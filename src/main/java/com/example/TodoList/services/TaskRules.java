@@ -0,0 +1,173 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.Status;
+import com.example.TodoList.models.TaskPatchRequest;
+import com.example.TodoList.models.TaskRequest;
+import com.example.TodoList.models.TitleMacros;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Правила заполнения задачи из запросов: макросы в названии, проверки и пересчёт статуса.
+ * Используются и блокирующим TodoListController, и реактивным API.
+ */
+@Component
+public class TaskRules {
+
+    private final TitleMacroParser titleMacroParser;
+
+    private final TaskMetrics taskMetrics;
+
+    public TaskRules(TitleMacroParser titleMacroParser, TaskMetrics taskMetrics) {
+        this.titleMacroParser = titleMacroParser;
+        this.taskMetrics = taskMetrics;
+    }
+
+    /**
+     * Заполняет новую задачу из запроса: макросы в названии, явные поля, проверки и статус.
+     * @return текст ошибки или null, если задачу можно сохранять
+     */
+    public String applyCreate(Task task, TaskRequest request) {
+        return countRejection("create", create(task, request));
+    }
+
+    private String create(Task task, TaskRequest request) {
+        task.setStatus(request.getStatus());
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        processTitle(task);
+        if(request.getPriority()!=null){
+            task.setPriority(request.getPriority());
+        }
+        if(request.getDeadline()!=null){
+            task.setDeadline(request.getDeadline());
+        }
+        if(task.getTitle().length()<4) {
+            return "Имя не может быть меньше 4 символов";
+        }
+        if(task.getTitle().length()>255) {
+            return "Имя не может быть больше 255 символов";
+        }
+        if(task.getDeadline()!=null && task.getDeadline().isBefore(LocalDate.now())){
+            return "Дэдлайн не может быть раньше настоящего времени";
+        }
+        updateTaskStatus(task);
+        return null;
+    }
+
+    /**
+     * Переносит изменения из запроса в существующую задачу.
+     * @return текст ошибки или null, если задачу можно сохранять
+     */
+    public String applyUpdate(Task existingTask, TaskRequest taskDetails) {
+        return countRejection("update", update(existingTask, taskDetails));
+    }
+
+    private String update(Task existingTask, TaskRequest taskDetails) {
+        existingTask.setTitle(taskDetails.getTitle());
+        existingTask.setDescription(taskDetails.getDescription());
+        existingTask.setStatus(taskDetails.getStatus());
+        existingTask.setUpdatedAt(LocalDateTime.now());
+
+        processTitle(existingTask);
+        if(taskDetails.getPriority()!=null){
+            existingTask.setPriority(taskDetails.getPriority());
+        }
+        if(taskDetails.getDeadline()!=null){
+            existingTask.setDeadline(taskDetails.getDeadline());
+        }
+        if(existingTask.getTitle().length()<4) {
+            return "Имя не может быть меньше 4 символов";
+        }
+        /*if(existingTask.getDeadline()!=null && existingTask.getDeadline().isBefore(LocalDate.now())){
+            return "Дэдлайн не может быть раньше настоящего времени";
+        }*/
+        updateTaskStatus(existingTask);
+        return null;
+    }
+
+    /**
+     * Применяет к задаче только переданные в patch поля по правилам applyUpdate.
+     * @return текст ошибки или null, если задачу можно сохранять
+     */
+    public String applyPatch(Task existingTask, TaskPatchRequest patch) {
+        return countRejection("patch", patch(existingTask, patch));
+    }
+
+    private String patch(Task existingTask, TaskPatchRequest patch) {
+        if (patch.has("title")) {
+            if (patch.getTitle() == null || patch.getTitle().isBlank()) {
+                return "Название не должно быть пустым";
+            }
+            existingTask.setTitle(patch.getTitle());
+            processTitle(existingTask);
+            if (existingTask.getTitle().length() < 4) {
+                return "Имя не может быть меньше 4 символов";
+            }
+            if (existingTask.getTitle().length() > 255) {
+                return "Имя не может быть больше 255 символов";
+            }
+        }
+        if (patch.has("description")) {
+            existingTask.setDescription(patch.getDescription());
+        }
+        // null в merge patch означает удаление поля, а статус и приоритет у задачи есть всегда
+        if (patch.has("status")) {
+            if (patch.getStatus() == null) {
+                return "Статус не может быть пустым";
+            }
+            existingTask.setStatus(patch.getStatus());
+        }
+        if (patch.has("priority")) {
+            if (patch.getPriority() == null) {
+                return "Приоритет не может быть пустым";
+            }
+            existingTask.setPriority(patch.getPriority());
+        }
+        if (patch.has("deadline")) {
+            existingTask.setDeadline(patch.getDeadline());
+        }
+        updateTaskStatus(existingTask);
+        return null;
+    }
+
+    public void processTitle(Task task) {
+        TitleMacros macros = taskMetrics.parseTitle(() -> titleMacroParser.parse(task.getTitle()));
+        task.setTitle(macros.getTitle());
+        if (macros.getPriority() != null) {
+            task.setPriority(macros.getPriority());
+        }
+        if (macros.getDeadline() != null) {
+            task.setDeadline(macros.getDeadline());
+        }
+    }
+
+    public void updateTaskStatus(Task task) {
+        Status previous = task.getStatus();
+        if (task.getDeadline() != null) {
+            LocalDate today = LocalDate.now();
+            if (task.getStatus() == Status.COMPLETED) {
+                if (task.getDeadline().isBefore(today)) {
+                    task.setStatus(Status.LATE);
+                }
+            } else {
+                if (task.getDeadline().isBefore(today)) {
+                    task.setStatus(Status.OVERDUE);
+                } else task.setStatus(Status.ACTIVE);
+            }
+        }
+        if (task.getStatus() != previous) {
+            taskMetrics.statusChanged(previous, task.getStatus());
+        }
+    }
+
+    private String countRejection(String operation, String error) {
+        if (error != null) {
+            taskMetrics.rejected(operation);
+        }
+        return error;
+    }
+}
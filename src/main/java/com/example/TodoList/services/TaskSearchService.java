@@ -0,0 +1,107 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskSearchHit;
+import com.example.TodoList.models.TaskSearchPage;
+import com.example.TodoList.repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Полнотекстовый поиск по title и description через Lucene-индекс H2 (FullTextLucene).
+ * Индекс обновляется триггерами H2 при любом insert/update/delete в таблице Tasks,
+ * поэтому отдельная синхронизация из контроллера не нужна.
+ * <p>
+ * Цена этого - запись: триггер делает commit Lucene-индекса на каждую вставленную, удалённую
+ * или изменённую по title/description строку, и в пакете тоже на каждую строку. По SearchIndexBenchmark
+ * создание задачи дороже примерно в 50-100 раз, пакет из 50 задач - сотни миллисекунд; смена статуса
+ * индекс не трогает. Если поиск не нужен, todo.search.enabled=false удаляет индекс вместе с триггером.
+ */
+@Service
+public class TaskSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TaskRepository taskRepository;
+
+    private final boolean enabled;
+
+    private volatile boolean available;
+
+    public TaskSearchService(JdbcTemplate jdbcTemplate, TaskRepository taskRepository,
+                             @Value("${todo.search.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+    }
+
+    // таблица к этому моменту уже создана Hibernate (ddl-auto)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndex() {
+        try {
+            jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS FTL_INIT FOR 'org.h2.fulltext.FullTextLucene.init'");
+            jdbcTemplate.execute("CALL FTL_INIT()");
+            Integer indexes = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM FTL.INDEXES WHERE SCHEMA = 'PUBLIC' AND \"TABLE\" = 'TASKS'", Integer.class);
+            boolean exists = indexes != null && indexes > 0;
+            if (!enabled) {
+                // индекс в файловой базе остался бы от прошлых запусков, и его триггер работал бы дальше
+                if (exists) {
+                    jdbcTemplate.execute("CALL FTL_DROP_INDEX('PUBLIC', 'TASKS')");
+                }
+                log.info("Полнотекстовый поиск отключён (todo.search.enabled=false)");
+                return;
+            }
+            if (!exists) {
+                // индексирует и уже существующие строки
+                jdbcTemplate.execute("CALL FTL_CREATE_INDEX('PUBLIC', 'TASKS', 'TITLE,DESCRIPTION')");
+            }
+            available = true;
+        } catch (DataAccessException e) {
+            log.warn("Полнотекстовый индекс задач недоступен, поиск отключён", e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Ищет задачи по запросу в синтаксисе Lucene, результаты упорядочены по релевантности.
+     *
+     * @throws DataAccessException если запрос не разбирается Lucene
+     */
+    public TaskSearchPage search(String query, int limit, int offset) {
+        Map<UUID, Float> scores = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT KEYS, SCORE FROM FTL_SEARCH_DATA(?, ?, ?) WHERE \"TABLE\" = 'TASKS'",
+                rs -> {
+                    Object[] keys = (Object[]) rs.getArray("KEYS").getArray();
+                    scores.put(UUID.fromString(keys[0].toString()), rs.getFloat("SCORE"));
+                },
+                query, limit, offset);
+
+        Map<UUID, Task> tasks = new HashMap<>();
+        for (Task task : taskRepository.findAllById(scores.keySet())) {
+            tasks.put(task.getId(), task);
+        }
+        List<TaskSearchHit> hits = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            // индекс не транзакционный: после отката в нём может остаться строка, которой нет в таблице
+            Task task = tasks.get(id);
+            if (task != null) {
+                hits.add(new TaskSearchHit(task, score));
+            }
+        });
+        return new TaskSearchPage(hits, limit, offset);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskListVersion;
+import com.example.TodoList.models.TaskRequest;
+import com.example.TodoList.models.TaskSummary;
+import com.example.TodoList.models.TaskVersion;
+import com.example.TodoList.models.TaskWriteResult;
+import com.example.TodoList.repositories.TaskRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.example.TodoList.CacheConfig.TASKS_CACHE;
+
+/**
+ * Чтение и изменение отдельных задач. Чтение идёт в read-only транзакциях: Hibernate не хранит
+ * снимки сущностей для dirty-checking и не делает flush, соединение помечается read-only.
+ * Каждое изменение - одна транзакция от чтения задачи до записи.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskService {
+
+    private final TaskRepository taskRepository;
+
+    private final TaskRules taskRules;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    private final TaskSyncService taskSyncService;
+
+    public TaskService(TaskRepository taskRepository, TaskRules taskRules, TaskChangeFeed taskChangeFeed,
+                       TaskSyncService taskSyncService) {
+        this.taskRepository = taskRepository;
+        this.taskRules = taskRules;
+        this.taskChangeFeed = taskChangeFeed;
+        this.taskSyncService = taskSyncService;
+    }
+
+    public TaskListVersion findListVersion() {
+        return taskRepository.findListVersion();
+    }
+
+    public List<TaskSummary> findSummaries(Specification<Task> spec, Sort sort, int limit) {
+        return taskRepository.findSummaries(spec, sort, limit);
+    }
+
+    public Optional<TaskVersion> findVersionById(UUID id) {
+        return taskRepository.findVersionById(id);
+    }
+
+    public Optional<Task> findById(UUID id) {
+        return taskRepository.findById(id);
+    }
+
+    /**
+     * Убирает задачу из кэша после конфликта версий: кэш мог хранить её устаревшую копию.
+     */
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#p0")
+    public void evictCached(UUID id) {
+    }
+
+    @Transactional
+    public TaskWriteResult create(TaskRequest request) {
+        Task task = new Task();
+        String error = taskRules.applyCreate(task, request);
+        if (error != null) {
+            return TaskWriteResult.invalid(error);
+        }
+        Task savedTask = taskRepository.save(task);
+        taskChangeFeed.created(savedTask);
+        return TaskWriteResult.ok(savedTask);
+    }
+
+    // задачи уже прошли проверку; saveAll отправляет insert'ы пачками
+    @Transactional
+    public List<Task> createAll(List<Task> tasks) {
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        savedTasks.forEach(taskChangeFeed::created);
+        return savedTasks;
+    }
+
+    /**
+     * Изменяет копию задачи и сохраняет её в той же транзакции, в которой задача прочитана.
+     *
+     * @param precondition проверка текущей задачи, например If-Match; false - PRECONDITION_FAILED
+     * @param changes      применяет изменения к копии и возвращает текст ошибки или null
+     */
+    @Transactional
+    public TaskWriteResult update(UUID id, Predicate<Task> precondition, Function<Task, String> changes) {
+        Optional<Task> optTask = taskRepository.findForUpdate(id);
+        if (optTask.isEmpty()) {
+            return TaskWriteResult.notFound();
+        }
+        if (!precondition.test(optTask.get())) {
+            return TaskWriteResult.preconditionFailed();
+        }
+        Task existingTask = optTask.get().copy();
+        String error = changes.apply(existingTask);
+        if (error != null) {
+            return TaskWriteResult.invalid(error);
+        }
+        // merge сверяет @Version с базой, так что гонка между проверкой и записью тоже даёт
+        // ObjectOptimisticLockingFailureException
+        Task updatedTask = taskRepository.save(existingTask);
+        taskChangeFeed.updated(updatedTask);
+        return TaskWriteResult.ok(updatedTask);
+    }
+
+    /**
+     * @param precondition проверка текущей версии задачи, например If-Match; null - удалить без проверки
+     */
+    @Transactional
+    public TaskWriteResult delete(UUID id, Predicate<Long> precondition) {
+        if (precondition == null) {
+            // один delete: число удалённых строк само отличает 404 от 200
+            if (!taskSyncService.delete(id)) {
+                return TaskWriteResult.notFound();
+            }
+        } else {
+            // версию для If-Match читаем проекцией, без загрузки задачи
+            Optional<TaskVersion> version = taskRepository.findVersionById(id);
+            if (version.isEmpty()) {
+                return TaskWriteResult.notFound();
+            }
+            Long current = version.get().getVersion();
+            if (!precondition.test(current) || !taskSyncService.deleteIfVersion(id, current)) {
+                return TaskWriteResult.preconditionFailed();
+            }
+        }
+        taskChangeFeed.deleted(id);
+        return TaskWriteResult.ok(null);
+    }
+}
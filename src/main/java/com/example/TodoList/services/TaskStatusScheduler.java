@@ -0,0 +1,98 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.CacheConfig;
+import com.example.TodoList.models.Status;
+import com.example.TodoList.repositories.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пересчитывает статусы задач, у которых прошёл дэдлайн, теми же правилами, что и
+ * TaskRules.updateTaskStatus: ACTIVE -> OVERDUE, COMPLETED -> LATE.
+ * Работает set-based update'ами порциями, не загружая сущности.
+ */
+@Component
+public class TaskStatusScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusScheduler.class);
+
+    private final TaskRepository taskRepository;
+
+    private final int chunkSize;
+
+    private final Timer duration;
+
+    private final Counter overdueRows;
+
+    private final Counter lateRows;
+
+    private final Cache taskCache;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    public TaskStatusScheduler(TaskRepository taskRepository, MeterRegistry meterRegistry, CacheManager cacheManager,
+                               TaskChangeFeed taskChangeFeed,
+                               @Value("${todo.status-recalculation.chunk-size:1000}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.taskCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        this.taskChangeFeed = taskChangeFeed;
+        this.chunkSize = chunkSize;
+        this.duration = Timer.builder("tasks.status.recalculation.duration")
+                .description("Время пересчёта статусов просроченных задач")
+                .register(meterRegistry);
+        this.overdueRows = rowsCounter(meterRegistry, Status.ACTIVE, Status.OVERDUE);
+        this.lateRows = rowsCounter(meterRegistry, Status.COMPLETED, Status.LATE);
+    }
+
+    // после простоя сервиса статусы тоже могли устареть, поэтому догоняем сразу при старте
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${todo.status-recalculation.cron:0 5 0 * * *}")
+    public void recalculateStatuses() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        int overdue = transition(Status.ACTIVE, Status.OVERDUE, today, overdueRows);
+        int late = transition(Status.COMPLETED, Status.LATE, today, lateRows);
+        if (overdue + late > 0) {
+            // update'ы идут мимо сущностей, какие из закэшированных задач изменились - неизвестно
+            taskCache.clear();
+            taskChangeFeed.statusesRecalculated();
+        }
+        long elapsed = System.nanoTime() - start;
+        duration.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Пересчёт статусов: OVERDUE {}, LATE {}, {} мс", overdue, late,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private int transition(Status from, Status to, LocalDate today, Counter rows) {
+        int total = 0;
+        int touched;
+        do {
+            touched = taskRepository.transitionStatus(from.name(), to.name(), today, LocalDateTime.now(), chunkSize);
+            total += touched;
+        } while (touched == chunkSize);
+        rows.increment(total);
+        return total;
+    }
+
+    private static Counter rowsCounter(MeterRegistry meterRegistry, Status from, Status to) {
+        return Counter.builder("tasks.status.recalculation.rows")
+                .description("Число задач, переведённых в просроченный статус")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry);
+    }
+}
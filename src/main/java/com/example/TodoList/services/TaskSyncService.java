@@ -0,0 +1,162 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.entities.TaskTombstone;
+import com.example.TodoList.models.TaskChanges;
+import com.example.TodoList.models.TaskSyncCursor;
+import com.example.TodoList.repositories.TaskRepository;
+import com.example.TodoList.repositories.TaskTombstoneRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Дельта-синхронизация: изменённые задачи по индексу updated_at и отметки об удалениях.
+ * Все удаления задач идут через этот сервис, чтобы отметка записывалась в той же транзакции;
+ * единственное исключение - профиль reactive, где ReactiveTaskRepository.deleteById пишет отметку сам.
+ */
+@Service
+public class TaskSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSyncService.class);
+
+    private final TaskRepository taskRepository;
+
+    private final TaskTombstoneRepository tombstoneRepository;
+
+    private final EntityManager entityManager;
+
+    private final Duration tombstoneRetention;
+
+    private final Duration commitLag;
+
+    public TaskSyncService(TaskRepository taskRepository, TaskTombstoneRepository tombstoneRepository,
+                           EntityManager entityManager,
+                           @Value("${todo.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+                           @Value("${todo.sync.commit-lag:5s}") Duration commitLag) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.tombstoneRetention = tombstoneRetention;
+        this.commitLag = commitLag;
+    }
+
+    /**
+     * Страница изменений после позиций курсора: не больше limit задач и limit отметок об удалениях,
+     * упорядоченных по (момент, id).
+     * <p>
+     * updated_at задаётся при flush, а виден другим транзакциям только после коммита, поэтому запись
+     * с меньшим updated_at может появиться позже уже выданной. Курсор не сдвигается дальше
+     * now() - todo.sync.commit-lag: всё более свежее следующий запрос прочитает ещё раз, и запоздавший
+     * коммит не потеряется. Повторно выданные задачи и отметки клиент применяет как обычно.
+     *
+     * @return изменения или пустой Optional, если отметки об удалениях за этот период
+     * уже удалены и клиенту нужно перечитать список целиком
+     */
+    @Transactional(readOnly = true)
+    public Optional<TaskChanges> changesAfter(TaskSyncCursor from, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        if (from.getDeletedAt().isBefore(now.minus(tombstoneRetention))) {
+            return Optional.empty();
+        }
+        LocalDateTime settled = now.minus(commitLag);
+
+        // на одну запись больше, чтобы понять, есть ли следующая страница
+        List<Task> updated = taskRepository.findUpdatedAfter(from.getUpdatedAt(), from.getUpdatedId(),
+                Limit.of(limit + 1));
+        boolean updatedTruncated = updated.size() > limit;
+        if (updatedTruncated) {
+            updated = updated.subList(0, limit);
+        }
+        Position updatedFrom = new Position(from.getUpdatedAt(), from.getUpdatedId());
+        Position updatedTo = updatedFrom;
+        if (!updated.isEmpty()) {
+            Task last = updated.get(updated.size() - 1);
+            updatedTo = advance(updatedFrom, last.getUpdatedAt(), last.getId(), settled);
+        }
+
+        List<TaskTombstone> deleted = tombstoneRepository.findDeletedAfter(from.getDeletedAt(), from.getDeletedId(),
+                Limit.of(limit + 1));
+        boolean deletedTruncated = deleted.size() > limit;
+        if (deletedTruncated) {
+            deleted = deleted.subList(0, limit);
+        }
+        Position deletedFrom = new Position(from.getDeletedAt(), from.getDeletedId());
+        Position deletedTo = deletedFrom;
+        if (!deleted.isEmpty()) {
+            TaskTombstone last = deleted.get(deleted.size() - 1);
+            deletedTo = advance(deletedFrom, last.getDeletedAt(), last.getTaskId(), settled);
+        }
+
+        // следующая страница готова, только если курсор дошёл до конца этой; иначе её записи ещё не устоялись
+        boolean hasMore = updatedTruncated && updatedTo.id().equals(updated.get(limit - 1).getId())
+                || deletedTruncated && deletedTo.id().equals(deleted.get(limit - 1).getTaskId());
+        TaskSyncCursor next = new TaskSyncCursor(updatedTo.at(), updatedTo.id(), deletedTo.at(), deletedTo.id());
+        return Optional.of(new TaskChanges(updated, deleted, next.encode(), hasMore));
+    }
+
+    /**
+     * @return false, если задачи не было; отметка об удалении в этом случае не пишется,
+     * поэтому параллельные удаления одной задачи не создают её дважды
+     */
+    @Transactional
+    public boolean delete(UUID id) {
+        if (taskRepository.deleteOneById(id) == 0) {
+            return false;
+        }
+        recordDeletions(List.of(id));
+        return true;
+    }
+
+    /**
+     * Удаляет задачу, только если её версия не изменилась.
+     *
+     * @return false, если задачу уже изменили или удалили
+     */
+    @Transactional
+    public boolean deleteIfVersion(UUID id, Long version) {
+        if (taskRepository.deleteByIdAndVersion(id, version) == 0) {
+            return false;
+        }
+        recordDeletions(List.of(id));
+        return true;
+    }
+
+    // вызывается внутри транзакции удаления; persist вместо save, чтобы не было select'а по заданному id
+    @Transactional
+    public void recordDeletions(Collection<UUID> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID id : ids) {
+            entityManager.persist(new TaskTombstone(id, now));
+        }
+    }
+
+    @Scheduled(cron = "${todo.sync.tombstone-cleanup.cron:0 15 0 * * *}")
+    public void removeExpiredTombstones() {
+        int removed = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Удалено отметок об удалённых задачах: {}", removed);
+    }
+
+    // Позиция после выданной страницы, но не дальше settled
+    private static Position advance(Position from, LocalDateTime lastAt, UUID lastId, LocalDateTime settled) {
+        if (!lastAt.isAfter(settled)) {
+            return new Position(lastAt, lastId);
+        }
+        return settled.isAfter(from.at()) ? new Position(settled, TaskSyncCursor.MIN_ID) : from;
+    }
+
+    private record Position(LocalDateTime at, UUID id) {
+    }
+}
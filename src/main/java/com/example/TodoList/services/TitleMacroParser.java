@@ -0,0 +1,86 @@
+package com.example.TodoList.services;
+
+import com.example.TodoList.models.Priority;
+import com.example.TodoList.models.TitleMacros;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Разбор макросов в названии задачи: !1..!4 задают приоритет (побеждает самый высокий),
+ * !before dd.MM.yyyy или dd-MM-yyyy задаёт дэдлайн. Макросы вырезаются из названия.
+ * Шаблон и форматтеры создаются один раз, маркеры приоритета снимаются за один проход по строке.
+ */
+@Component
+public class TitleMacroParser {
+
+    private static final Logger log = LoggerFactory.getLogger(TitleMacroParser.class);
+
+    private static final Pattern BEFORE = Pattern.compile("!before\\s+(\\d{2}[.-]\\d{2}[.-]\\d{4})");
+
+    private static final DateTimeFormatter DOTTED = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private static final DateTimeFormatter DASHED = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    // индекс - цифра маркера минус один: !1 -> CRITICAL ... !4 -> LOW
+    private static final Priority[] PRIORITY_MARKERS = {Priority.CRITICAL, Priority.HIGH, Priority.MEDIUM, Priority.LOW};
+
+    public TitleMacros parse(String title) {
+        // без '!' макросов быть не может
+        if (title.indexOf('!') < 0) {
+            return new TitleMacros(title.trim(), null, null);
+        }
+
+        int length = title.length();
+        StringBuilder stripped = new StringBuilder(length);
+        int marker = PRIORITY_MARKERS.length;
+        for (int i = 0; i < length; i++) {
+            char c = title.charAt(i);
+            if (c == '!' && i + 1 < length) {
+                int digit = title.charAt(i + 1) - '1';
+                if (digit >= 0 && digit < PRIORITY_MARKERS.length) {
+                    marker = Math.min(marker, digit);
+                    i++;
+                    continue;
+                }
+            }
+            stripped.append(c);
+        }
+        Priority priority = marker < PRIORITY_MARKERS.length ? PRIORITY_MARKERS[marker] : null;
+
+        Matcher matcher = BEFORE.matcher(stripped);
+        if (!matcher.find()) {
+            return new TitleMacros(stripped.toString().trim(), priority, null);
+        }
+        // дэдлайн берётся из первого макроса, из названия вырезаются все
+        LocalDate deadline = parseDate(matcher.group(1));
+        StringBuilder result = new StringBuilder(stripped.length());
+        int last = 0;
+        do {
+            result.append(stripped, last, matcher.start());
+            last = matcher.end();
+        } while (matcher.find());
+        result.append(stripped, last, stripped.length());
+        return new TitleMacros(result.toString().trim(), priority, deadline);
+    }
+
+    private static LocalDate parseDate(String value) {
+        // формат выбирается по разделителю; смешанные разделители ("16.10-2026") не поддерживаются
+        char separator = value.charAt(2);
+        if (separator == value.charAt(5)) {
+            try {
+                return LocalDate.parse(value, separator == '.' ? DOTTED : DASHED);
+            } catch (DateTimeParseException e) {
+                // несуществующая дата, например 32.02.2027
+            }
+        }
+        log.warn("Неверный формат даты: {}", value);
+        return null;
+    }
+}
@@ -4,16 +4,21 @@ import com.example.TodoList.models.Priority;
 import com.example.TodoList.entities.Task;
 import com.example.TodoList.models.Status;
 import com.example.TodoList.models.TaskRequest;
+import com.example.TodoList.models.TaskSortField;
 import com.example.TodoList.repositories.TaskRepository;
+import com.example.TodoList.services.TaskStatusScheduler;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -22,6 +27,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -32,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 class ApiTests {
 
 	@Autowired
@@ -43,6 +50,12 @@ class ApiTests {
 	@Autowired
 	private TaskRepository taskRepository;
 
+	@Autowired
+	private TaskStatusScheduler taskStatusScheduler;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
 	@BeforeEach
 	void setup() {
 		taskRepository.deleteAll();
@@ -523,6 +536,26 @@ class ApiTests {
         assertEquals("Task A", tasks[1].getTitle());
     }
 
+    @Test
+    void getAll_ReturnsSummaryWithoutDescription() throws Exception {
+        Task task = new Task();
+        task.setTitle("Summary task");
+        task.setDescription("Long description");
+        task.setCreatedAt(LocalDateTime.now());
+        task = taskRepository.save(task);
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Summary task"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks/" + task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Long description"))
+                .andExpect(jsonPath("$.version").value(task.getVersion()));
+    }
+
     @Test
     void getAll_SortByTitleAsc() throws Exception {
         Task task1 = new Task();
@@ -582,4 +615,668 @@ class ApiTests {
         assertEquals(Priority.LOW, tasks[0].getPriority());
         assertEquals(Priority.HIGH, tasks[1].getPriority());
     }
+
+    @Test
+    void getAll_KeysetPagination() throws Exception {
+        for (String title : List.of("Task A", "Task B", "Task C")) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(Status.ACTIVE);
+            taskRepository.save(task);
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/tasks")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.limit").value(2))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn();
+
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Task C"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getAll_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_Ndjson() throws Exception {
+        for (String title : List.of("Task A", "Task B")) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(Status.ACTIVE);
+            taskRepository.save(task);
+        }
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Task A", objectMapper.readValue(lines[0], Task.class).getTitle());
+        assertEquals("Task B", objectMapper.readValue(lines[1], Task.class).getTitle());
+    }
+
+    @Test
+    void batch_CreateReportsPerItemErrors() throws Exception {
+        String requestBody = objectMapper.writeValueAsString(List.of(
+                Map.of("title", "Valid Title !1", "status", "ACTIVE"),
+                Map.of("title", "abc", "status", "ACTIVE"),
+                Map.of("title", "", "status", "ACTIVE")));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].message").value("Имя не может быть меньше 4 символов"))
+                .andExpect(jsonPath("$[2].status").value(400));
+
+        assertEquals(1, taskRepository.count());
+        assertEquals(Priority.CRITICAL, taskRepository.findAll().get(0).getPriority());
+    }
+
+    @Test
+    void batch_UpdateRejectsRepeatedId() throws Exception {
+        Task task = new Task();
+        task.setTitle("Original Title");
+        UUID taskId = taskRepository.save(task).getId();
+
+        String updateBody = objectMapper.writeValueAsString(List.of(
+                Map.of("id", taskId.toString(), "title", "Updated Title", "status", "ACTIVE"),
+                Map.of("id", taskId.toString(), "title", "abc", "status", "ACTIVE")));
+
+        mockMvc.perform(put("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(400));
+
+        assertEquals("Updated Title", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void batch_NullItemsRejected() throws Exception {
+        Task task = new Task();
+        task.setTitle("Original Title");
+        UUID taskId = taskRepository.save(task).getId();
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null, {\"title\": \"Created Title\", \"status\": \"ACTIVE\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[1].status").value(201));
+
+        mockMvc.perform(put("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null, {\"id\": \"" + taskId + "\", \"title\": \"Updated Title\", "
+                                + "\"status\": \"ACTIVE\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[1].status").value(200));
+    }
+
+    @Test
+    void batch_UpdateAndDelete() throws Exception {
+        Task task = new Task();
+        task.setTitle("Original Title");
+        task.setStatus(Status.ACTIVE);
+        UUID taskId = taskRepository.save(task).getId();
+        UUID missingId = UUID.randomUUID();
+
+        String updateBody = objectMapper.writeValueAsString(List.of(
+                Map.of("id", taskId.toString(), "title", "Updated Title", "status", "COMPLETED"),
+                Map.of("id", missingId.toString(), "title", "Updated Title", "status", "ACTIVE")));
+
+        mockMvc.perform(put("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(404));
+
+        assertEquals("Updated Title", taskRepository.findById(taskId).orElseThrow().getTitle());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskId, missingId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(404));
+
+        assertFalse(taskRepository.existsById(taskId));
+    }
+
+    @Test
+    void statusRecalculation_MarksPastDeadlines() throws Exception {
+        Task active = new Task();
+        active.setTitle("Active Task");
+        active.setStatus(Status.ACTIVE);
+        active.setDeadline(LocalDate.now().minusDays(1));
+        UUID activeId = taskRepository.save(active).getId();
+
+        Task completed = new Task();
+        completed.setTitle("Completed Task");
+        completed.setStatus(Status.COMPLETED);
+        completed.setDeadline(LocalDate.now().minusDays(1));
+        UUID completedId = taskRepository.save(completed).getId();
+
+        Task future = new Task();
+        future.setTitle("Future Task");
+        future.setStatus(Status.ACTIVE);
+        future.setDeadline(LocalDate.now().plusDays(1));
+        UUID futureId = taskRepository.save(future).getId();
+
+        taskStatusScheduler.recalculateStatuses();
+
+        assertEquals(Status.OVERDUE, taskRepository.findById(activeId).orElseThrow().getStatus());
+        assertEquals(Status.LATE, taskRepository.findById(completedId).orElseThrow().getStatus());
+        assertEquals(Status.ACTIVE, taskRepository.findById(futureId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void getAll_SortByUnknownField() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("sortBy", "description"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getAll_EverySortFieldReadsIndexInOrder() {
+        for (TaskSortField field : TaskSortField.values()) {
+            for (String direction : List.of("asc", "desc")) {
+                String plan = jdbcTemplate.queryForObject("explain select * from tasks order by "
+                        + field.getColumn() + " " + direction + ", id " + direction, String.class);
+                assertTrue(plan.contains("index sorted"), field + " " + direction + ": " + plan);
+            }
+        }
+    }
+
+    @Test
+    void getAll_FilterByStatusPriorityAndDeadline() throws Exception {
+        Task overdueCritical = new Task();
+        overdueCritical.setTitle("Overdue critical");
+        overdueCritical.setStatus(Status.OVERDUE);
+        overdueCritical.setPriority(Priority.CRITICAL);
+        overdueCritical.setDeadline(LocalDate.now().minusDays(2));
+        taskRepository.save(overdueCritical);
+
+        Task overdueLow = new Task();
+        overdueLow.setTitle("Overdue low");
+        overdueLow.setStatus(Status.OVERDUE);
+        overdueLow.setPriority(Priority.LOW);
+        overdueLow.setDeadline(LocalDate.now().minusDays(2));
+        taskRepository.save(overdueLow);
+
+        Task activeCritical = new Task();
+        activeCritical.setTitle("Active critical");
+        activeCritical.setStatus(Status.ACTIVE);
+        activeCritical.setPriority(Priority.CRITICAL);
+        activeCritical.setDeadline(LocalDate.now().plusDays(3));
+        taskRepository.save(activeCritical);
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "OVERDUE")
+                        .param("priority", "CRITICAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Overdue critical"));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("deadlineFrom", LocalDate.now().toString())
+                        .param("deadlineTo", LocalDate.now().plusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Active critical"));
+    }
+
+    @Test
+    void search_ByWordsInTitleAndDescription() throws Exception {
+        Task groceries = new Task();
+        groceries.setTitle("Buy groceries");
+        groceries.setDescription("milk and bread");
+        groceries.setStatus(Status.ACTIVE);
+        taskRepository.save(groceries);
+
+        Task report = new Task();
+        report.setTitle("Write report");
+        report.setDescription("quarterly numbers");
+        report.setStatus(Status.ACTIVE);
+        taskRepository.save(report);
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "bread"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].task.title").value("Buy groceries"));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "report OR milk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2));
+    }
+
+    @Test
+    void cache_RejectedUpdateKeepsCachedTask() throws Exception {
+        Task task = new Task();
+        task.setTitle("Cached Title");
+        task.setStatus(Status.ACTIVE);
+        UUID taskId = taskRepository.save(task).getId();
+
+        mockMvc.perform(get("/api/tasks/" + taskId))
+                .andExpect(status().isOk());
+
+        TaskRequest taskDetails = new TaskRequest();
+        taskDetails.setTitle("abc");
+        taskDetails.setStatus(Status.ACTIVE);
+        mockMvc.perform(put("/api/tasks")
+                        .param("id", taskId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDetails)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Cached Title"));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/tasks")
+                        .param("id", taskId.toString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/" + taskId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cache_StaleEntryDoesNotBlockUpdate() throws Exception {
+        Task task = new Task();
+        task.setTitle("Cached Title");
+        task.setStatus(Status.ACTIVE);
+        UUID taskId = taskRepository.save(task).getId();
+        mockMvc.perform(get("/api/tasks/" + taskId))
+                .andExpect(jsonPath("$.version").value(0));
+
+        // строка изменена в обход кэша: в кэше осталась версия 0
+        jdbcTemplate.update("update tasks set title = 'Changed Title', version = 1 where id = ?", taskId);
+
+        TaskRequest taskDetails = new TaskRequest();
+        taskDetails.setTitle("Updated Title");
+        taskDetails.setStatus(Status.ACTIVE);
+        mockMvc.perform(put("/api/tasks")
+                        .param("id", taskId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+
+        mockMvc.perform(get("/api/tasks/" + taskId))
+                .andExpect(jsonPath("$.title").value("Updated Title"))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    void conditionalGet_TaskNotModified() throws Exception {
+        Task task = new Task();
+        task.setTitle("Polled Task");
+        task.setStatus(Status.ACTIVE);
+        UUID taskId = taskRepository.save(task).getId();
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/" + taskId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        TaskRequest taskDetails = new TaskRequest();
+        taskDetails.setTitle("Changed Task");
+        taskDetails.setStatus(Status.ACTIVE);
+        mockMvc.perform(put("/api/tasks")
+                        .param("id", taskId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDetails)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/" + taskId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Changed Task"));
+    }
+
+    @Test
+    void conditionalGet_ListNotModified() throws Exception {
+        Task task = new Task();
+        task.setTitle("Listed Task");
+        task.setStatus(Status.ACTIVE);
+        taskRepository.save(task);
+
+        String eTag = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // без ETag у клиента 304 быть не должно: удаление не меняет max(updatedAt)
+        mockMvc.perform(get("/api/tasks").header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks").param("sortBy", "title").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        taskRepository.deleteAll();
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ifMatch_StaleVersionRejected() throws Exception {
+        Task task = new Task();
+        task.setTitle("Shared Task");
+        task.setStatus(Status.ACTIVE);
+        UUID taskId = taskRepository.save(task).getId();
+
+        String eTag = mockMvc.perform(get("/api/tasks/" + taskId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        TaskRequest taskDetails = new TaskRequest();
+        taskDetails.setTitle("First Edit");
+        taskDetails.setStatus(Status.ACTIVE);
+        String newETag = mockMvc.perform(put("/api/tasks")
+                        .param("id", taskId.toString())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("First Edit"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, newETag);
+
+        taskDetails.setTitle("Second Edit");
+        mockMvc.perform(put("/api/tasks")
+                        .param("id", taskId.toString())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDetails)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/tasks")
+                        .param("id", taskId.toString())
+                        .header("If-Match", eTag))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("First Edit", taskRepository.findById(taskId).get().getTitle());
+
+        mockMvc.perform(delete("/api/tasks")
+                        .param("id", taskId.toString())
+                        .header("If-Match", newETag))
+                .andExpect(status().isOk());
+        assertFalse(taskRepository.existsById(taskId));
+    }
+
+    @Test
+    void patch_UpdatesOnlySuppliedFields() throws Exception {
+        Task task = new Task();
+        task.setTitle("Patched Task");
+        task.setDescription("Keep me");
+        task.setPriority(Priority.HIGH);
+        task.setStatus(Status.ACTIVE);
+        UUID taskId = taskRepository.save(task).getId();
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.title").value("Patched Task"))
+                .andExpect(jsonPath("$.description").value("Keep me"))
+                .andExpect(jsonPath("$.priority").value("HIGH"));
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"description\": null, \"title\": \"Renamed Task !4\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed Task"))
+                .andExpect(jsonPath("$.priority").value("LOW"))
+                .andExpect(jsonPath("$.description").doesNotExist());
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\": null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"priority\": null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/tasks/" + UUID.randomUUID())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isNotFound());
+
+        Task stored = taskRepository.findById(taskId).get();
+        assertEquals("Renamed Task", stored.getTitle());
+        assertEquals(Status.COMPLETED, stored.getStatus());
+        assertEquals(Priority.LOW, stored.getPriority());
+        assertNull(stored.getDescription());
+    }
+
+    @Test
+    void events_StreamAndResumeWithLastEventId() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/tasks/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTitle("First Event");
+        taskRequest.setStatus(Status.ACTIVE);
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andExpect(status().isCreated());
+
+        String content = awaitContent(stream, "First Event");
+        assertTrue(content.contains("event:CREATED"));
+        assertTrue(content.contains("First Event"));
+        String firstEventId = content.lines()
+                .filter(line -> line.startsWith("id:"))
+                .findFirst().orElseThrow()
+                .substring("id:".length());
+
+        taskRequest.setTitle("Second Event");
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andExpect(status().isCreated());
+
+        String resumed = awaitContent(mockMvc.perform(get("/api/tasks/events").header("Last-Event-ID", firstEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn(), "Second Event");
+        assertFalse(resumed.contains("First Event"));
+        assertTrue(resumed.contains("Second Event"));
+
+        String reset = awaitContent(mockMvc.perform(get("/api/tasks/events").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn(), "event:reset");
+        assertTrue(reset.contains("event:reset"));
+    }
+
+    // события отправляются в отдельном потоке ленты, поэтому ответ дописывается не сразу
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    void changes_ReturnsUpdatedAndDeletedSince() throws Exception {
+        Task untouched = new Task();
+        untouched.setTitle("Old Task");
+        untouched.setStatus(Status.ACTIVE);
+        taskRepository.save(untouched);
+        Task removed = new Task();
+        removed.setTitle("Removed Task");
+        removed.setStatus(Status.ACTIVE);
+        UUID removedId = taskRepository.save(removed).getId();
+
+        Thread.sleep(5);
+        LocalDateTime since = LocalDateTime.now();
+        Thread.sleep(5);
+
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTitle("New Task");
+        taskRequest.setStatus(Status.ACTIVE);
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(delete("/api/tasks").param("id", removedId.toString()))
+                .andExpect(status().isOk());
+
+        String cursor = objectMapper.readTree(mockMvc.perform(get("/api/tasks/changes").param("since", since.toString()))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.updated.length()").value(1))
+                        .andExpect(jsonPath("$.updated[0].title").value("New Task"))
+                        .andExpect(jsonPath("$.deleted.length()").value(1))
+                        .andExpect(jsonPath("$.deleted[0].taskId").value(removedId.toString()))
+                        .andExpect(jsonPath("$.hasMore").value(false))
+                        .andReturn().getResponse().getContentAsString())
+                .get("cursor").asText();
+
+        // изменения моложе todo.sync.commit-lag выдаются повторно, курсор за них не сдвигается
+        mockMvc.perform(get("/api/tasks/changes").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(1))
+                .andExpect(jsonPath("$.deleted.length()").value(1));
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", LocalDateTime.now().minusDays(31).toString()))
+                .andExpect(status().isGone());
+        mockMvc.perform(get("/api/tasks/changes").param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void changes_PagesThroughEqualTimestampsById() throws Exception {
+        jdbcTemplate.update("delete from task_tombstones");
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTitle("Synced Task " + i);
+            task.setStatus(Status.ACTIVE);
+            taskRepository.save(task);
+        }
+        // как после пакетного перевода статусов: одинаковый updated_at, уже старше todo.sync.commit-lag
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(1);
+        jdbcTemplate.update("update tasks set updated_at = ?", updatedAt);
+
+        JsonNode first = objectMapper.readTree(mockMvc.perform(get("/api/tasks/changes")
+                        .param("since", updatedAt.minusSeconds(1).toString())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(2))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString());
+
+        JsonNode second = objectMapper.readTree(mockMvc.perform(get("/api/tasks/changes")
+                        .param("cursor", first.get("cursor").asText())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(1))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString());
+
+        List<String> ids = List.of(first.get("updated").get(0).get("id").asText(),
+                first.get("updated").get(1).get("id").asText(),
+                second.get("updated").get(0).get("id").asText());
+        assertEquals(3, ids.stream().distinct().count());
+
+        mockMvc.perform(get("/api/tasks/changes").param("cursor", second.get("cursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(0));
+    }
+
+    @Test
+    void metrics_ExposedForPrometheus() throws Exception {
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTitle("Measured Task !1 !before 10.01.2030");
+        taskRequest.setStatus(Status.ACTIVE);
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andExpect(status().isCreated());
+        taskRequest.setTitle("Abc");
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andExpect(status().isBadRequest());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket"));
+        assertTrue(metrics.contains("spring_data_repository_invocations_seconds"));
+        assertTrue(metrics.contains("hikaricp_connections_acquire_seconds"));
+        assertTrue(metrics.contains("tasks_title_parse_seconds"));
+        assertTrue(metrics.contains("tasks_title_macros_total{application=\"TodoList\",macro=\"priority\"}"));
+        assertTrue(metrics.contains("tasks_validation_rejections_total{application=\"TodoList\",operation=\"create\"}"));
+    }
+
+    @Test
+    void sqlStatistics_AggregatedPerStatement() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/sqlstats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.sql =~ /.*from tasks.*/i)].count").isNotEmpty())
+                .andExpect(jsonPath("$[0].totalMicros").isNumber())
+                .andExpect(jsonPath("$[0].maxMicros").isNumber());
+    }
+
+    @Test
+    void requestId_EchoedOrGenerated() throws Exception {
+        mockMvc.perform(get("/api/tasks").header("X-Request-ID", "client-request-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Request-ID", "client-request-1"));
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Request-ID"));
+    }
 }
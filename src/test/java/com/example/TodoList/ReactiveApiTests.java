@@ -0,0 +1,125 @@
+package com.example.TodoList;
+
+import com.example.TodoList.models.Priority;
+import com.example.TodoList.models.Status;
+import com.example.TodoList.models.TaskRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveApiTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@BeforeEach
+	void setup() {
+		databaseClient.sql("delete from tasks").fetch().rowsUpdated().block();
+	}
+
+	@Test
+	void create_AppliesTitleMacros() {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Reactive Task !1 !before 10.01.2030");
+		request.setStatus(Status.ACTIVE);
+
+		webTestClient.post().uri("/api/tasks")
+				.bodyValue(request)
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody()
+				.jsonPath("$.title").isEqualTo("Reactive Task")
+				.jsonPath("$.priority").isEqualTo(Priority.CRITICAL.name())
+				.jsonPath("$.deadline").isEqualTo("2030-01-10")
+				.jsonPath("$.version").isEqualTo(0);
+
+		webTestClient.get().uri("/api/tasks?sortBy=title")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(1)
+				.jsonPath("$[0].title").isEqualTo("Reactive Task")
+				.jsonPath("$[0].priority").isEqualTo(Priority.CRITICAL.name())
+				.jsonPath("$[0].description").doesNotExist()
+				.jsonPath("$[0].version").doesNotExist();
+	}
+
+	@Test
+	void create_ShortTitle() {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Abc");
+
+		webTestClient.post().uri("/api/tasks")
+				.bodyValue(request)
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("Имя не может быть меньше 4 символов");
+	}
+
+	@Test
+	void updateAndDelete_UseVersion() {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Reactive Task");
+		request.setStatus(Status.ACTIVE);
+		Map<?, ?> created = webTestClient.post().uri("/api/tasks")
+				.bodyValue(request)
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(Map.class)
+				.returnResult().getResponseBody();
+		String id = (String) created.get("id");
+
+		String eTag = webTestClient.get().uri("/api/tasks/" + id)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(String.class).getResponseHeaders().getETag();
+
+		request.setTitle("Updated Reactive Task");
+		webTestClient.put().uri("/api/tasks?id=" + id)
+				.header("If-Match", eTag)
+				.bodyValue(request)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.title").isEqualTo("Updated Reactive Task")
+				.jsonPath("$.version").isEqualTo(1);
+
+		webTestClient.patch().uri("/api/tasks/" + id)
+				.header("If-Match", eTag)
+				.header("Content-Type", "application/merge-patch+json")
+				.bodyValue("{\"status\": \"COMPLETED\"}")
+				.exchange()
+				.expectStatus().isEqualTo(412);
+
+		webTestClient.delete().uri("/api/tasks?id=" + id)
+				.exchange()
+				.expectStatus().isOk();
+		Long tombstones = databaseClient.sql("select count(*) from task_tombstones where task_id = :id")
+				.bind("id", UUID.fromString(id))
+				.map(row -> row.get(0, Long.class))
+				.one().block();
+		assertEquals(1L, tombstones);
+
+		webTestClient.get().uri("/api/tasks/" + id)
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+}
@@ -2,20 +2,43 @@ package com.example.TodoList;
 
 import com.example.TodoList.controllers.TodoListController;
 import com.example.TodoList.entities.Task;
+import com.example.TodoList.entities.UuidV7Generator;
 import com.example.TodoList.models.Priority;
 import com.example.TodoList.models.Status;
+import com.example.TodoList.models.TaskBatchUpdateRequest;
 import com.example.TodoList.models.TaskRequest;
 import com.example.TodoList.repositories.TaskRepository;
+import com.example.TodoList.services.TaskBatchService;
+import com.example.TodoList.services.TaskChangeFeed;
+import com.example.TodoList.services.TaskExportService;
+import com.example.TodoList.services.TaskMetrics;
+import com.example.TodoList.services.TaskRules;
+import com.example.TodoList.services.TaskSearchService;
+import com.example.TodoList.services.SqlQueryStatistics;
+import com.example.TodoList.services.TaskService;
+import com.example.TodoList.services.TaskSyncService;
+import com.example.TodoList.services.TitleMacroParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,12 +50,36 @@ class UnitTests {
     @Mock
     private TaskRepository taskRepository;
 
-    @InjectMocks
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Spy
+    private TaskRules taskRules = new TaskRules(new TitleMacroParser(), new TaskMetrics(new SimpleMeterRegistry()));
+
+    @Mock
+    private TaskExportService taskExportService;
+
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TaskSearchService taskSearchService;
+
+    @Mock
+    private TaskSyncService taskSyncService;
+
     private TodoListController TaskProcessor;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // настоящий TaskService поверх замоканного репозитория
+        TaskService taskService = new TaskService(taskRepository, taskRules, taskChangeFeed, taskSyncService);
+        TaskProcessor = new TodoListController(taskService, taskExportService, taskBatchService, validator,
+                taskRules, taskSearchService, taskChangeFeed, taskSyncService);
     }
 
     @Test
@@ -126,6 +173,24 @@ class UnitTests {
         assertEquals("Important task", task.getTitle());
     }
 
+    @Test
+    void title_mixedDateSeparators() {
+        Task task = new Task();
+        task.setTitle("Task !before 25.12-2024");
+        TaskProcessor.processTitle(task);
+        assertNull(task.getDeadline());
+        assertEquals("Task", task.getTitle());
+    }
+
+    @Test
+    void title_repeatedBeforeUsesFirstDate() {
+        Task task = new Task();
+        task.setTitle("Task !before 25.12.2024 !before 01.01.2025");
+        TaskProcessor.processTitle(task);
+        assertEquals(LocalDate.of(2024, 12, 25), task.getDeadline());
+        assertEquals("Task", task.getTitle());
+    }
+
     @Test
     void updateTaskStatusCompletedPast() {
         Task task = new Task();
@@ -187,6 +252,39 @@ class UnitTests {
         assertEquals("", task.getTitle());
     }
 
+    @Test
+    void updateTask_ConcurrentChangeWithoutIfMatchIsConflict() {
+        Task existingTask = new Task();
+        existingTask.setId(UUID.randomUUID());
+        existingTask.setTitle("Existing Task");
+        existingTask.setVersion(0L);
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Updated Task");
+        request.setStatus(Status.ACTIVE);
+
+        when(taskRepository.findForUpdate(existingTask.getId())).thenReturn(Optional.of(existingTask));
+        when(taskRepository.save(any(Task.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, existingTask.getId()));
+
+        assertEquals(HttpStatus.CONFLICT, TaskProcessor.updateTask(existingTask.getId(), request, null).getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED,
+                TaskProcessor.updateTask(existingTask.getId(), request, "\"" + existingTask.getId() + "-0\"")
+                        .getStatusCode());
+    }
+
+    @Test
+    void updateTasks_VersionConflictAtCommitIsConflict() {
+        TaskBatchUpdateRequest request = new TaskBatchUpdateRequest();
+        request.setId(UUID.randomUUID());
+        request.setTitle("Updated Task");
+        request.setStatus(Status.ACTIVE);
+
+        when(taskBatchService.updateAll(any(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, request.getId()));
+
+        assertEquals(HttpStatus.CONFLICT, TaskProcessor.updateTasks(List.of(request)).getStatusCode());
+    }
+
     @Test
     void task_priorityOverride() {
         TaskRequest request = new TaskRequest();
@@ -252,4 +350,52 @@ class UnitTests {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
     }
+
+    @Test
+    void taskId_TimeOrderedUuidV7() {
+        UUID previous = UuidV7Generator.nextUuid();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = UuidV7Generator.nextUuid();
+            assertEquals(7, next.version());
+            assertEquals(2, next.variant());
+            // H2 сравнивает UUID как беззнаковые числа, поэтому и здесь сравнение беззнаковое
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void sqlStatistics_BatchTimeSplitBetweenStatements() {
+        SqlQueryStatistics statistics = new SqlQueryStatistics(Duration.ofSeconds(1), 100);
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(7);
+        execution.setSuccess(true);
+        execution.setBatch(true);
+        execution.setBatchSize(2);
+
+        statistics.afterQuery(execution, List.of(new QueryInfo("update a"), new QueryInfo("update b")));
+
+        List<SqlQueryStatistics.StatementStats> stats = statistics.statistics();
+        assertEquals(2, stats.size());
+        assertEquals(7000, stats.stream().mapToLong(SqlQueryStatistics.StatementStats::totalMicros).sum());
+        assertEquals(3500, stats.get(0).totalMicros());
+        assertEquals(1, stats.get(0).count());
+        assertEquals(1, stats.get(1).count());
+    }
+
+    @Test
+    void sqlStatistics_SubMillisecondStatementsMeasured() {
+        SqlQueryStatistics statistics = new SqlQueryStatistics(Duration.ofSeconds(1), 100);
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setSuccess(true);
+        List<QueryInfo> queries = List.of(new QueryInfo("select 1"));
+
+        statistics.beforeQuery(execution, queries);
+        LockSupport.parkNanos(200_000);
+        statistics.afterQuery(execution, queries);
+
+        SqlQueryStatistics.StatementStats stats = statistics.statistics().get(0);
+        assertTrue(stats.totalMicros() >= 200);
+        assertEquals(stats.totalMicros(), stats.averageMicros(), 1);
+    }
 }
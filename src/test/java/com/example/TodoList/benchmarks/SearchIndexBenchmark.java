@@ -0,0 +1,143 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.TodoListApplication;
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.entities.UuidV7Generator;
+import com.example.TodoList.models.Status;
+import com.example.TodoList.models.TaskRequest;
+import com.example.TodoList.models.TaskWriteResult;
+import com.example.TodoList.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Цена полнотекстового индекса для записи. Триггер FullTextLucene делает commit Lucene-индекса
+ * на каждую вставленную, удалённую или изменённую по title/description строку, поэтому запись
+ * сравнивается с индексом и без него. База и индекс в файлах, как в приложении.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int SAMPLE_IDS = 1024;
+
+    private static final int BATCH = 50;
+
+    @Param({"lucene", "none"})
+    public String index;
+
+    private Path dataDirectory;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private final List<UUID> sampleIds = new ArrayList<>(SAMPLE_IDS);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDirectory = Files.createTempDirectory("search-index-benchmark");
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--todo.h2.path=" + dataDirectory.resolve("tasks").toAbsolutePath(),
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // заполняем без триггера, а индекс строим потом одним проходом
+        jdbcTemplate.execute("CALL FTL_DROP_INDEX('PUBLIC', 'TASKS')");
+        seed(jdbcTemplate);
+        if (index.equals("lucene")) {
+            jdbcTemplate.execute("CALL FTL_CREATE_INDEX('PUBLIC', 'TASKS', 'TITLE,DESCRIPTION')");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public TaskWriteResult create() {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Benchmark task");
+        request.setDescription("Created by SearchIndexBenchmark");
+        return taskService.create(request);
+    }
+
+    // как POST /api/tasks/batch: одна транзакция, но триггер срабатывает на каждую строку
+    @Benchmark
+    public List<Task> createBatch() {
+        List<Task> tasks = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            Task task = new Task();
+            task.setTitle("Batch task " + i);
+            task.setDescription("Created by SearchIndexBenchmark");
+            task.setStatus(Status.ACTIVE);
+            tasks.add(task);
+        }
+        return taskService.createAll(tasks);
+    }
+
+    @Benchmark
+    public TaskWriteResult updateTitle() {
+        String title = "Renamed " + System.nanoTime();
+        return taskService.update(sampleId(), task -> true, task -> {
+            task.setTitle(title);
+            return null;
+        });
+    }
+
+    // индексированные колонки не меняются: триггер не трогает Lucene
+    @Benchmark
+    public TaskWriteResult updateStatus() {
+        return taskService.update(sampleId(), task -> true, task -> {
+            task.setStatus(task.getStatus() == Status.ACTIVE ? Status.COMPLETED : Status.ACTIVE);
+            return null;
+        });
+    }
+
+    private UUID sampleId() {
+        return sampleIds.get(ThreadLocalRandom.current().nextInt(sampleIds.size()));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = UuidV7Generator.nextUuid();
+            if (sampleIds.size() < SAMPLE_IDS) {
+                sampleIds.add(id);
+            }
+            batch.add(new Object[]{id, "Task " + i, "Description of task " + i, Timestamp.valueOf(now),
+                    Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, title, description, status, priority, created_at, "
+                + "updated_at, version) values (?, ?, ?, 'ACTIVE', 'MEDIUM', ?, ?, 0)", batch);
+    }
+}
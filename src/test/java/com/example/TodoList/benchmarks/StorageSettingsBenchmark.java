@@ -0,0 +1,117 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.TodoListApplication;
+import com.example.TodoList.entities.UuidV7Generator;
+import com.example.TodoList.models.TaskRequest;
+import com.example.TodoList.models.TaskWriteResult;
+import com.example.TodoList.services.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Запись задач через TaskService в файловую H2 с настройками по умолчанию и с профилем prod
+ * (application-prod.properties: без trace-файла, MAX_COMPACT_TIME, пул фиксированного размера).
+ * Каждая операция - отдельная транзакция с commit, как у POST и PUT /api/tasks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+@State(Scope.Benchmark)
+public class StorageSettingsBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int SAMPLE_IDS = 1024;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private Path dataDirectory;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private final List<UUID> sampleIds = new ArrayList<>(SAMPLE_IDS);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDirectory = Files.createTempDirectory("storage-benchmark");
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=" + profile,
+                        "--todo.h2.path=" + dataDirectory.resolve("tasks").toAbsolutePath(),
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // триггеры полнотекстового индекса одинаковы в обоих профилях и заглушили бы разницу в хранении
+        jdbcTemplate.execute("CALL FTL_DROP_INDEX('PUBLIC', 'TASKS')");
+        seed(jdbcTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public TaskWriteResult create() {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Benchmark task");
+        request.setDescription("Created by StorageSettingsBenchmark");
+        return taskService.create(request);
+    }
+
+    @Benchmark
+    public TaskWriteResult update() {
+        UUID id = sampleIds.get(ThreadLocalRandom.current().nextInt(sampleIds.size()));
+        String description = "Updated " + System.nanoTime();
+        try {
+            return taskService.update(id, task -> true, task -> {
+                task.setDescription(description);
+                return null;
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // два потока выбрали одну задачу; это тоже полная транзакция
+            return TaskWriteResult.preconditionFailed();
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = UuidV7Generator.nextUuid();
+            if (sampleIds.size() < SAMPLE_IDS) {
+                sampleIds.add(id);
+            }
+            batch.add(new Object[]{id, "Task " + i, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, title, status, priority, created_at, updated_at, version) "
+                + "values (?, ?, 'ACTIVE', 'MEDIUM', ?, ?, 0)", batch);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.TodoListApplication;
+import com.example.TodoList.entities.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Вставка задач в пустую таблицу со случайными UUIDv4 и с упорядоченными по времени UUIDv7.
+ * Одна операция - вставка всех rows строк пачками; после каждой итерации печатается
+ * размер таблицы с индексами (DISK_SPACE_USED), чтобы сравнить и заполненность страниц.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskIdBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"v4", "v7"})
+    public String idType;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path dataDirectory;
+
+    private ConfigurableApplicationContext context;
+
+    private JdbcTemplate jdbcTemplate;
+
+    // база в файле, а не в памяти: иначе DISK_SPACE_USED не показывает размер страниц
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        dataDirectory = Files.createTempDirectory("task-id-benchmark");
+        context = new SpringApplicationBuilder(TodoListApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:file:" + dataDirectory.resolve("tasks").toAbsolutePath(),
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // триггеры полнотекстового индекса на каждый insert заглушили бы разницу между ключами
+        jdbcTemplate.execute("CALL FTL_DROP_INDEX('PUBLIC', 'TASKS')");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        jdbcTemplate.execute("CHECKPOINT");
+        Long bytes = jdbcTemplate.queryForObject("select disk_space_used('TASKS')", Long.class);
+        System.out.printf("%n%s, %d rows: tasks table with indexes %d KiB%n", idType, rows, bytes / 1024);
+        context.close();
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int insertAll() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < rows; i++) {
+            UUID id = idType.equals("v7") ? UuidV7Generator.nextUuid() : UUID.randomUUID();
+            batch.add(new Object[]{id, "Task " + i, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            if (batch.size() == INSERT_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("insert into tasks (id, title, status, priority, created_at, updated_at, "
+                        + "version) values (?, ?, 'ACTIVE', 'MEDIUM', ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        return rows;
+    }
+}
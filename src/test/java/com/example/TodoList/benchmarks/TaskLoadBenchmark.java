@@ -0,0 +1,107 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.TodoListApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест HTTP API: MVC на платформенных и на виртуальных потоках и реактивный вариант (WebFlux + R2DBC).
+ * 200 клиентских потоков одновременно обращаются к серверу, у которого 50 потоков Tomcat
+ * (в режиме виртуальных потоков это ограничение не действует) и пул из 10 соединений.
+ * Результат - запросов в секунду для каждого режима.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(200)
+@State(Scope.Benchmark)
+public class TaskLoadBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private static final int SAMPLE_IDS = 1024;
+
+    @Param({"platform", "virtual", "reactive"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    private final List<UUID> sampleIds = new ArrayList<>(SAMPLE_IDS);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoListApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                "--spring.profiles.active=" + (mode.equals("reactive") ? "reactive" : "default"),
+                "--server.tomcat.threads.max=50",
+                "--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/tasks";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getById() throws IOException, InterruptedException {
+        UUID id = sampleIds.get(ThreadLocalRandom.current().nextInt(sampleIds.size()));
+        return send(baseUrl + "/" + id);
+    }
+
+    // фильтров и постраничного вывода в реактивном варианте нет, поэтому сравнивается полный список
+    @Benchmark
+    public int listAll() throws IOException, InterruptedException {
+        return send(baseUrl + "?sortBy=title");
+    }
+
+    private int send(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        String[] statuses = {"ACTIVE", "COMPLETED", "OVERDUE", "LATE"};
+        List<Object[]> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = UUID.randomUUID();
+            if (sampleIds.size() < SAMPLE_IDS) {
+                sampleIds.add(id);
+            }
+            batch.add(new Object[]{id, "Task " + i, statuses[i % statuses.length],
+                    Timestamp.valueOf(now.minusSeconds(ROWS - i)), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, title, status, created_at, updated_at) values (?, ?, ?, ?, ?)",
+                batch);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.Status;
+import com.example.TodoList.services.TaskMetrics;
+import com.example.TodoList.services.TaskRules;
+import com.example.TodoList.services.TitleMacroParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * processTitle и updateTaskStatus в том виде, в каком их вызывает путь создания задачи.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskProcessingBenchmark {
+
+    @Param({"Regular task", "Important task !2 !before 10.01.2030"})
+    public String title;
+
+    private TaskRules rules;
+
+    private LocalDate pastDeadline;
+
+    @Setup
+    public void setUp() {
+        rules = new TaskRules(new TitleMacroParser(), new TaskMetrics(new SimpleMeterRegistry()));
+        pastDeadline = LocalDate.now().minusDays(1);
+    }
+
+    @Benchmark
+    public Task processTitle() {
+        Task task = new Task();
+        task.setTitle(title);
+        rules.processTitle(task);
+        return task;
+    }
+
+    @Benchmark
+    public Task updateTaskStatus() {
+        Task task = new Task();
+        task.setStatus(Status.COMPLETED);
+        task.setDeadline(pastDeadline);
+        rules.updateTaskStatus(task);
+        return task;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.TodoListApplication;
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.TaskSummary;
+import com.example.TodoList.repositories.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запросы TaskRepository к встроенной H2 в памяти, заполненной заданным числом задач.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskRepositoryBenchmark {
+
+    private static final int SEED_BATCH = 10_000;
+
+    private static final int SAMPLE_IDS = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskRepository taskRepository;
+
+    private final List<UUID> sampleIds = new ArrayList<>(SAMPLE_IDS);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = startApplication();
+        taskRepository = context.getBean(TaskRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // без триггера полнотекстового индекса: иначе каждая из миллиона строк делает commit Lucene
+        jdbcTemplate.execute("CALL FTL_DROP_INDEX('PUBLIC', 'TASKS')");
+        seed(jdbcTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> findAllSorted() {
+        return taskRepository.findAll(Sort.by(Sort.Direction.ASC, "createdAt"));
+    }
+
+    // тот же список через проекцию: без description и без гидрации сущностей
+    @Benchmark
+    public List<TaskSummary> findSummariesSorted() {
+        return taskRepository.findSummaries(Specification.where(null), Sort.by(Sort.Direction.ASC, "createdAt"), 0);
+    }
+
+    // findById обслуживается кэшем задач, а здесь нужен запрос к H2 по первичному ключу
+    @Benchmark
+    public Optional<Task> findById() {
+        return taskRepository.findForUpdate(sampleIds.get(ThreadLocalRandom.current().nextInt(sampleIds.size())));
+    }
+
+    /**
+     * Поднимает приложение без веб-сервера на H2 в памяти. Настройки передаются аргументами
+     * командной строки, чтобы перекрыть application.properties и не трогать файл ./data/TodoDb.
+     */
+    static ConfigurableApplicationContext startApplication(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(TodoListApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now();
+        String[] statuses = {"ACTIVE", "COMPLETED", "OVERDUE", "LATE"};
+        String[] priorities = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < rows; i++) {
+            UUID id = UUID.randomUUID();
+            if (sampleIds.size() < SAMPLE_IDS) {
+                sampleIds.add(id);
+            }
+            batch.add(new Object[]{
+                    id,
+                    "Task " + i,
+                    "Description of task " + i,
+                    Date.valueOf(LocalDate.now().plusDays(random.nextInt(-30, 60))),
+                    statuses[random.nextInt(statuses.length)],
+                    priorities[random.nextInt(priorities.length)],
+                    Timestamp.valueOf(now.minusSeconds(rows - i)),
+                    Timestamp.valueOf(now)
+            });
+            if (batch.size() == SEED_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("insert into tasks (id, title, description, deadline, status, priority, " +
+                        "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.Priority;
+import com.example.TodoList.models.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация списка задач в JSON, как в ответе GET /api/tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        // те же настройки дат, что у ObjectMapper из Spring Boot
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        tasks = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId(UUID.randomUUID());
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setDeadline(LocalDate.now().plusDays(i % 30));
+            task.setStatus(Status.values()[i % Status.values().length]);
+            task.setPriority(Priority.values()[i % Priority.values().length]);
+            task.setCreatedAt(now.minusMinutes(i));
+            task.setUpdatedAt(now);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+}
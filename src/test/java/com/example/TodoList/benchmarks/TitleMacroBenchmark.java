@@ -0,0 +1,107 @@
+package com.example.TodoList.benchmarks;
+
+import com.example.TodoList.entities.Task;
+import com.example.TodoList.models.Priority;
+import com.example.TodoList.models.TitleMacros;
+import com.example.TodoList.services.TitleMacroParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Сравнение TitleMacroParser с прежней реализацией processTitle на пути создания задачи.
+ * Запуск с профайлером GC показывает и время, и аллокации на операцию (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TitleMacroBenchmark {
+
+    @Param({
+            "Regular task",
+            "Important task !1",
+            "Important task !2 !before 10.01.2025",
+            "Grocery shopping !before 25-12-2024",
+            "Grocery shopping !before 32.02.2027"
+    })
+    public String title;
+
+    private final TitleMacroParser parser = new TitleMacroParser();
+
+    // та же работа, что у legacy: задача создаётся и заполняется, как в TaskRules.processTitle (без метрик)
+    @Benchmark
+    public Task parser() {
+        Task task = new Task();
+        task.setTitle(title);
+        TitleMacros macros = parser.parse(task.getTitle());
+        task.setTitle(macros.getTitle());
+        if (macros.getPriority() != null) {
+            task.setPriority(macros.getPriority());
+        }
+        if (macros.getDeadline() != null) {
+            task.setDeadline(macros.getDeadline());
+        }
+        return task;
+    }
+
+    @Benchmark
+    public Task legacy() {
+        Task task = new Task();
+        task.setTitle(title);
+        legacyProcessTitle(task);
+        return task;
+    }
+
+    // прежняя реализация TodoListController.processTitle без изменений
+    private static void legacyProcessTitle(Task task) {
+        if (task.getTitle().contains("!1")) {
+            task.setPriority(Priority.CRITICAL);
+        } else if (task.getTitle().contains("!2")) {
+            task.setPriority(Priority.HIGH);
+        } else if (task.getTitle().contains("!3")) {
+            task.setPriority(Priority.MEDIUM);
+        } else if (task.getTitle().contains("!4")) {
+            task.setPriority(Priority.LOW);
+        }
+
+        task.setTitle(task.getTitle().replaceAll("!1|!2|!3|!4", "").trim());
+        Pattern pattern = Pattern.compile("!before\\s+(\\d{2}[.-]\\d{2}[.-]\\d{4})");
+        Matcher matcher = pattern.matcher(task.getTitle());
+        if (matcher.find()) {
+            String dateString = matcher.group(1);
+            DateTimeFormatter formatter1 = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+            DateTimeFormatter formatter2 = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+            try {
+                LocalDate deadline = LocalDate.parse(dateString, formatter1);
+                task.setDeadline(deadline);
+            } catch (DateTimeParseException e1) {
+                try {
+                    LocalDate deadline = LocalDate.parse(dateString, formatter2);
+                    task.setDeadline(deadline);
+                } catch (DateTimeParseException e2) {
+                    System.err.println("Неверный формат даты: " + dateString);
+                }
+            }
+        }
+        task.setTitle(task.getTitle().replaceAll(pattern.pattern(), "").trim());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TitleMacroBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}